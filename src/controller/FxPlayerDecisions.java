@@ -0,0 +1,53 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.ChoiceDialog;
+import model.InventoryItem;
+import model.PlayerDecisions;
+
+/** Asks the player with dialogs; called from button handlers, so showAndWait is allowed. */
+final class FxPlayerDecisions implements PlayerDecisions {
+
+    @Override
+    public boolean swapKeyItem(InventoryItem current, InventoryItem offered) {
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Key Item Swap Confirmation");
+        confirm.setHeaderText("Key item already exists.");
+        confirm.setContentText("You already have the key item \""
+            + current.getName()
+            + "\". Are you sure you want to swap it for \""
+            + offered.getName() + "\"?");
+
+        Optional<ButtonType> result = confirm.showAndWait();
+        return result.isPresent() && result.get() == ButtonType.OK;
+    }
+
+    @Override
+    public InventoryItem weaponToDrop(List<InventoryItem> weapons, InventoryItem offered) {
+        List<String> weaponNames = new ArrayList<>(weapons.size());
+        for (InventoryItem weapon : weapons) weaponNames.add(weapon.getName());
+
+        while (true) {
+            ChoiceDialog<String> dialog = new ChoiceDialog<>(weaponNames.get(0), weaponNames);
+            dialog.setTitle("Weapon Inventory Full");
+            dialog.setHeaderText("Choose a weapon to remove to make space for: " + offered.getName());
+            dialog.setContentText("Remove:");
+            Optional<String> result = dialog.showAndWait();
+            if (result.isEmpty()) return null;
+
+            String selectedName = result.get();
+            Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+            confirm.setTitle("Confirm Removal");
+            confirm.setHeaderText("Are you sure you want to remove " + selectedName + "?");
+            confirm.setContentText("This cannot be undone.");
+            Optional<ButtonType> confirmation = confirm.showAndWait();
+            if (confirmation.isPresent() && confirmation.get() == ButtonType.OK) {
+                return weapons.get(weaponNames.indexOf(selectedName));
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package model;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttled background autosave. {@link #request} only records the latest
+ * {@link RunSnapshot}; a timer thread writes it once requests have been quiet for
+ * {@code -Dzombie.autosave.debounceMs} (default 750), but no sooner than
+ * {@code -Dzombie.autosave.minIntervalMs} (default 3000) after the previous write,
+ * and no later than {@code -Dzombie.autosave.maxDelayMs} (default 10000) after the
+ * oldest unsaved request if requests keep coming. Snapshots superseded before they
+ * are written are dropped. Writes go through {@link SaveManager#save}, so the journal
+ * and the writer thread do the actual I/O.
+ *
+ * <p>{@link #stats()} reports how far the saved state lags the live state: how many
+ * requests are not on disk yet, how long the oldest of them has waited, and, for each
+ * write, the time from the oldest change it covers to the change being on disk.
+ */
+public final class Autosaver {
+    private static final long DEBOUNCE_NANOS =
+        TimeUnit.MILLISECONDS.toNanos(Long.getLong("zombie.autosave.debounceMs", 750));
+    private static final long MIN_INTERVAL_NANOS =
+        TimeUnit.MILLISECONDS.toNanos(Long.getLong("zombie.autosave.minIntervalMs", 3000));
+    private static final long MAX_DELAY_NANOS =
+        TimeUnit.MILLISECONDS.toNanos(Long.getLong("zombie.autosave.maxDelayMs", 10000));
+
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "autosave");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // guarded by Autosaver.class
+    private static RunSnapshot pending;
+    private static long pendingSeq;
+    private static long oldestPendingNanos;
+    private static long lastRequestNanos;
+    private static long lastWriteNanos = System.nanoTime() - MIN_INTERVAL_NANOS;
+    private static boolean scheduled;
+
+    // metrics, guarded by Autosaver.class
+    private static long requests, writes, durableWrites, coalesced, cancelled, failures;
+    private static long requestedSeq, durableSeq;
+    private static long lastLagNanos, maxLagNanos, totalLagNanos;
+
+    static {
+        // write what is pending on exit; SaveWriter's own hook then flushes it to disk
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            flush();
+            SaveWriter.flush(5, TimeUnit.SECONDS);
+        }, "autosave-flush"));
+    }
+
+    private Autosaver() { }
+
+    /** Schedules {@code snapshot} to be saved, replacing any snapshot still waiting. */
+    public static synchronized void request(RunSnapshot snapshot) {
+        long now = System.nanoTime();
+        requests++;
+        if (pending != null) {
+            coalesced++;
+        } else {
+            oldestPendingNanos = snapshot.getCapturedAtNanos();
+        }
+        pending = snapshot;
+        pendingSeq = ++requestedSeq;
+        lastRequestNanos = now;
+        if (!scheduled) {
+            scheduled = true;
+            schedule(Math.max(DEBOUNCE_NANOS, lastWriteNanos + MIN_INTERVAL_NANOS - now));
+        }
+    }
+
+    /**
+     * Drops the waiting snapshot, if any. Call before saving the slot directly, so an
+     * older autosave can't land after the explicit save.
+     */
+    public static synchronized void cancel() {
+        if (pending != null) {
+            cancelled++;
+            durableSeq = requestedSeq; // the explicit save that follows covers it
+            pending = null;
+        }
+    }
+
+    /** Writes the waiting snapshot now, ignoring the debounce and rate limit. */
+    public static synchronized void flush() {
+        if (pending != null) write(System.nanoTime());
+    }
+
+    /** How long the oldest unsaved request has been waiting, 0 if everything is written. */
+    public static synchronized long lagMillis() {
+        return pending == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldestPendingNanos);
+    }
+
+    public static synchronized String stats() {
+        return String.format("Autosave: requests=%d, writes=%d, coalesced=%d, cancelled=%d, failures=%d, "
+                + "behind=%d, waiting=%d ms, lag last/avg/max=%d/%d/%d ms",
+            requests, writes, coalesced, cancelled, failures,
+            requestedSeq - durableSeq, lagMillis(),
+            TimeUnit.NANOSECONDS.toMillis(lastLagNanos),
+            durableWrites == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLagNanos / durableWrites),
+            TimeUnit.NANOSECONDS.toMillis(maxLagNanos));
+    }
+
+    private static void schedule(long delayNanos) {
+        TIMER.schedule(Autosaver::fire, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static synchronized void fire() {
+        scheduled = false;
+        if (pending == null) return;
+        long now = System.nanoTime();
+        long wait = 0;
+        // still changing: wait for a quiet period, unless the oldest request has waited too long
+        if (now - lastRequestNanos < DEBOUNCE_NANOS && now - oldestPendingNanos < MAX_DELAY_NANOS) {
+            wait = DEBOUNCE_NANOS - (now - lastRequestNanos);
+        }
+        wait = Math.max(wait, lastWriteNanos + MIN_INTERVAL_NANOS - now);
+        if (wait > 0) {
+            scheduled = true;
+            schedule(wait);
+            return;
+        }
+        write(now);
+    }
+
+    private static void write(long now) {
+        RunSnapshot snapshot = pending;
+        long seq = pendingSeq;
+        long since = oldestPendingNanos;
+        pending = null;
+        lastWriteNanos = now;
+        writes++;
+
+        int slot = snapshot.getSlot();
+        SaveData data = snapshot.toSaveData();
+        // completed endings are only ever added by explicit saves; keep them
+        SaveManager.load(slot).ifPresent(existing -> data.completedWinSceneIds = existing.completedWinSceneIds);
+        SaveManager.save(slot, data).whenComplete((v, err) -> durable(snapshot, seq, since, err));
+    }
+
+    private static synchronized void durable(RunSnapshot snapshot, long seq, long since, Throwable err) {
+        if (err != null) {
+            failures++;
+            System.err.println("[ERROR] Autosave failed (slot " + snapshot.getSlot() + "): " + err);
+            return;
+        }
+        long lag = System.nanoTime() - since;
+        durableWrites++;
+        lastLagNanos = lag;
+        maxLagNanos = Math.max(maxLagNanos, lag);
+        totalLagNanos += lag;
+        durableSeq = Math.max(durableSeq, seq);
+        System.out.println("[DEBUG] Autosaved slot " + snapshot.getSlot() + " at scene "
+            + snapshot.getCurrentSceneId() + ". " + stats());
+    }
+}
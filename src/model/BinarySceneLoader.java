@@ -0,0 +1,195 @@
+package model;
+
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static model.BinaryStoryFormat.*;
+
+/**
+ * Scene loader over a compiled story file (see {@link StoryCompiler}). The file is mapped
+ * read-only and scenes are materialized by index the first time they are asked for, so
+ * opening a story costs the same no matter how many scenes it has.
+ */
+public class BinarySceneLoader extends SceneLoader {
+    private static final ItemType[] ITEM_TYPES = ItemType.values();
+
+    private final ByteBuffer buffer;
+    private final int sceneCount;
+    private final int sceneTablePos;
+    private final int choiceTablePos;
+    private final int stringOffsetsPos;
+    private final int idHashSize;
+    private final int idHashPos;
+    private final GameScene[] materialized;
+    private Map<String, GameScene> allScenes;
+
+    public BinarySceneLoader(Path compiledStory) throws IOException {
+        try (FileChannel channel = FileChannel.open(compiledStory, StandardOpenOption.READ)) {
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(H_MAGIC) != MAGIC) {
+            throw new IOException("Not a compiled story file: " + compiledStory);
+        }
+        if (buffer.getInt(H_VERSION) != VERSION) {
+            throw new IOException("Unsupported compiled story version " + buffer.getInt(H_VERSION) + " in " + compiledStory);
+        }
+        this.sceneCount = buffer.getInt(H_SCENE_COUNT);
+        this.sceneTablePos = buffer.getInt(H_SCENE_TABLE);
+        this.choiceTablePos = buffer.getInt(H_CHOICE_TABLE);
+        this.stringOffsetsPos = buffer.getInt(H_STRING_OFFSETS);
+        this.idHashSize = buffer.getInt(H_ID_HASH_SIZE);
+        this.idHashPos = buffer.getInt(H_ID_HASH);
+        this.materialized = new GameScene[sceneCount];
+        System.out.println("[DEBUG] Mapped compiled story " + compiledStory + " (" + sceneCount + " scenes)");
+    }
+
+    /** Modification time, in epoch millis, of the story JSON this file was compiled from. */
+    public long getSourceLastModified() {
+        return buffer.getLong(H_SOURCE_MODIFIED);
+    }
+
+    @Override
+    public int getSceneCount() {
+        return sceneCount;
+    }
+
+    @Override
+    public int getInfectionChoiceIndex() {
+        return buffer.getInt(H_INFECTION_CHOICE);
+    }
+
+    @Override
+    public int getGameOverInfectionIndex() {
+        return buffer.getInt(H_GAME_OVER_INFECTION);
+    }
+
+    @Override
+    public synchronized GameScene getSceneByIndex(int index) {
+        if (index < 0 || index >= sceneCount) return null;
+        GameScene scene = materialized[index];
+        if (scene == null) {
+            scene = readScene(index);
+            materialized[index] = scene;
+        }
+        return scene;
+    }
+
+    @Override
+    public int indexOf(String id) {
+        if (id == null) return NONE;
+        byte[] wanted = id.getBytes(StandardCharsets.UTF_8);
+        int slot = BinaryStoryFormat.idHashSlot(id.hashCode(), idHashSize);
+        for (int probes = 0; probes < idHashSize; probes++) {
+            int index = buffer.getInt(idHashPos + slot * Integer.BYTES);
+            if (index == NONE) return NONE;
+            if (stringEquals(buffer.getInt(sceneRecord(index) + S_ID), wanted)) return index;
+            slot = (slot + 1) & (idHashSize - 1);
+        }
+        return NONE;
+    }
+
+    @Override
+    public GameScene getSceneById(String id) {
+        int index = indexOf(id);
+        return index == NONE ? null : getSceneByIndex(index);
+    }
+
+    @Override
+    public boolean hasScene(String id) {
+        return indexOf(id) != NONE;
+    }
+
+    @Override
+    public synchronized Map<String, GameScene> getScenes() {
+        if (allScenes == null) {
+            Map<String, GameScene> scenes = new LinkedHashMap<>();
+            for (int i = 0; i < sceneCount; i++) {
+                GameScene scene = getSceneByIndex(i);
+                scenes.put(scene.getId(), scene);
+            }
+            allScenes = Collections.unmodifiableMap(scenes);
+        }
+        return allScenes;
+    }
+
+    private int sceneRecord(int index) {
+        return sceneTablePos + index * SCENE_RECORD_BYTES;
+    }
+
+    private GameScene readScene(int index) {
+        int base = sceneRecord(index);
+        String id = string(buffer.getInt(base + S_ID));
+
+        int firstChoice = buffer.getInt(base + S_FIRST_CHOICE);
+        int choiceCount = buffer.getInt(base + S_CHOICE_COUNT);
+        List<GameChoice> choices = new ArrayList<>(choiceCount);
+        for (int c = 0; c < choiceCount; c++) {
+            int cb = choiceTablePos + (firstChoice + c) * CHOICE_RECORD_BYTES;
+            GameChoice choice = new GameChoice(
+                string(buffer.getInt(cb + C_LABEL)),
+                string(buffer.getInt(cb + C_IMAGE_PATH)),
+                string(buffer.getInt(cb + C_NEXT_ID)),
+                buffer.getInt(cb + C_HEALTH_EFFECT));
+            choice.setCurrentSceneId(id);
+            choice.setNextSceneIndex(buffer.getInt(cb + C_NEXT_SCENE));
+            choices.add(choice);
+        }
+
+        InventoryItem addItem = null;
+        int itemName = buffer.getInt(base + S_ITEM_NAME);
+        if (itemName != NONE) {
+            addItem = new InventoryItem(
+                string(itemName),
+                ITEM_TYPES[buffer.getInt(base + S_ITEM_TYPE)],
+                buffer.getInt(base + S_ITEM_HEALTH_RESTORE),
+                buffer.getInt(base + S_ITEM_DURABILITY),
+                buffer.getInt(base + S_ITEM_POWER));
+        }
+
+        String prompt = string(buffer.getInt(base + S_PROMPT));
+        int healthChange = buffer.getInt(base + S_HEALTH_CHANGE);
+        GameScene scene = addItem != null
+            ? new GameScene(id, prompt, healthChange, Collections.unmodifiableList(choices), addItem)
+            : new GameScene(id, prompt, healthChange, Collections.unmodifiableList(choices));
+        scene.setImagePath(string(buffer.getInt(base + S_IMAGE_PATH)));
+        scene.setThreatLevel(buffer.getInt(base + S_THREAT_LEVEL));
+        scene.setFightNumber(buffer.getInt(base + S_FIGHT_NUMBER));
+        scene.setBitten((buffer.getInt(base + S_FLAGS) & FLAG_BITTEN) != 0);
+        scene.setIndex(index);
+        scene.setFightTargets(buffer.getInt(base + S_FIGHT_WIN), buffer.getInt(base + S_FIGHT_LOSE));
+        String ending = string(buffer.getInt(base + S_ENDING));
+        if (ending != null) scene.setEnding(ending);
+        int effects = buffer.getInt(base + S_EFFECTS);
+        if (effects != NONE) {
+            scene.setEffects(SceneEffects.compile(id, JsonParser.parseString(string(effects)).getAsJsonObject()));
+        }
+        return scene;
+    }
+
+    private String string(int stringId) {
+        if (stringId == NONE) return null;
+        int pos = buffer.getInt(stringOffsetsPos + stringId * Integer.BYTES);
+        byte[] utf8 = new byte[buffer.getInt(pos)];
+        buffer.get(pos + Integer.BYTES, utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private boolean stringEquals(int stringId, byte[] wanted) {
+        int pos = buffer.getInt(stringOffsetsPos + stringId * Integer.BYTES);
+        if (buffer.getInt(pos) != wanted.length) return false;
+        for (int i = 0; i < wanted.length; i++) {
+            if (buffer.get(pos + Integer.BYTES + i) != wanted[i]) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,87 @@
+package model;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Layout of compiled story files written by {@link StoryCompiler} and read by
+ * {@link BinarySceneLoader}. All values are big-endian ints unless noted.
+ *
+ * <pre>
+ * header   magic, version, stringCount, stringOffsetsPos, sceneCount, sceneTablePos,
+ *          choiceCount, choiceTablePos, idHashSize, idHashPos, infectionChoiceScene,
+ *          gameOverInfectionScene, sourceLastModified (long)
+ * strings  int[stringCount] absolute offsets; each string is an int byte length + UTF-8 bytes
+ * scenes   fixed-width SCENE_* records, in story file order
+ * choices  fixed-width CHOICE_* records, grouped per scene
+ * effects  a scene's effect flags are stored as a JSON object string and compiled by
+ *          {@link SceneEffects} when the scene is materialized
+ * id hash  open-addressing table of scene indexes (-1 = empty), probed linearly by id hashCode
+ * </pre>
+ */
+final class BinaryStoryFormat {
+    static final int MAGIC = 0x5A434753; // "ZCGS"
+    static final int VERSION = 3;
+    static final int NONE = -1;
+
+    static final int HEADER_BYTES = 14 * Integer.BYTES;
+    static final int H_MAGIC = 0;
+    static final int H_VERSION = 4;
+    static final int H_STRING_COUNT = 8;
+    static final int H_STRING_OFFSETS = 12;
+    static final int H_SCENE_COUNT = 16;
+    static final int H_SCENE_TABLE = 20;
+    static final int H_CHOICE_COUNT = 24;
+    static final int H_CHOICE_TABLE = 28;
+    static final int H_ID_HASH_SIZE = 32;
+    static final int H_ID_HASH = 36;
+    static final int H_INFECTION_CHOICE = 40;
+    static final int H_GAME_OVER_INFECTION = 44;
+    static final int H_SOURCE_MODIFIED = 48;
+
+    static final int SCENE_RECORD_BYTES = 18 * Integer.BYTES;
+    static final int S_ID = 0;
+    static final int S_PROMPT = 4;
+    static final int S_IMAGE_PATH = 8;
+    static final int S_ENDING = 12;
+    static final int S_HEALTH_CHANGE = 16;
+    static final int S_THREAT_LEVEL = 20;
+    static final int S_FIGHT_NUMBER = 24;
+    static final int S_FLAGS = 28;
+    static final int S_FIRST_CHOICE = 32;
+    static final int S_CHOICE_COUNT = 36;
+    static final int S_ITEM_NAME = 40;
+    static final int S_ITEM_TYPE = 44;
+    static final int S_ITEM_HEALTH_RESTORE = 48;
+    static final int S_ITEM_DURABILITY = 52;
+    static final int S_ITEM_POWER = 56;
+    static final int S_EFFECTS = 60;
+    static final int S_FIGHT_WIN = 64;
+    static final int S_FIGHT_LOSE = 68;
+
+    static final int FLAG_BITTEN = 1;
+
+    static final int CHOICE_RECORD_BYTES = 5 * Integer.BYTES;
+    static final int C_LABEL = 0;
+    static final int C_IMAGE_PATH = 4;
+    static final int C_NEXT_ID = 8;
+    static final int C_NEXT_SCENE = 12;
+    static final int C_HEALTH_EFFECT = 16;
+
+    private BinaryStoryFormat() { }
+
+    /** src/data/drive_story1.json -> src/data/compiled/drive_story1.zcs */
+    static Path compiledPathFor(String storyFilePath) {
+        Path source = Paths.get(storyFilePath);
+        String name = source.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        Path dir = source.getParent() != null ? source.getParent() : Paths.get("");
+        return dir.resolve("compiled").resolve(base + ".zcs");
+    }
+
+    static int idHashSlot(int hash, int tableSize) {
+        int h = hash ^ (hash >>> 16);
+        return h & (tableSize - 1);
+    }
+}
@@ -0,0 +1,99 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * The numbers behind a fight, as one immutable value so balance tools can try other
+ * settings: unarmed power, the threat from which a win wears a weapon down twice as
+ * fast, the health lost in an unarmed defeat ({@code loseBase + losePerThreat * threat})
+ * and how many weapons can be carried. {@link #DEFAULT} is what the game plays with.
+ *
+ * <p>Values are compared field by field, so a set of parameters can key a cache.
+ */
+public final class CombatParams {
+    public static final CombatParams DEFAULT = new CombatParams(2, 5, 25, 2, Inventory.MAX_WEAPONS);
+
+    static final int LIGHT_WEAR = 1;
+    static final int HEAVY_WEAR = 2;
+
+    /** Names of the parameters, in the order of {@link #values()}. */
+    static final String[] NAMES = { "fists", "heavyWearAt", "loseBase", "losePerThreat", "maxWeapons" };
+
+    private final int fistsPower;
+    private final int heavyWearThreat;
+    private final int loseBase;
+    private final int losePerThreat;
+    private final int maxWeapons;
+
+    public CombatParams(int fistsPower, int heavyWearThreat, int loseBase, int losePerThreat, int maxWeapons) {
+        if (fistsPower < 0 || loseBase < 0 || losePerThreat < 0 || maxWeapons < 1) {
+            throw new IllegalArgumentException("Invalid combat parameters: fists " + fistsPower + ", lose " + loseBase
+                + "+" + losePerThreat + "*threat, " + maxWeapons + " weapons");
+        }
+        this.fistsPower = fistsPower;
+        this.heavyWearThreat = heavyWearThreat;
+        this.loseBase = loseBase;
+        this.losePerThreat = losePerThreat;
+        this.maxWeapons = maxWeapons;
+    }
+
+    /** Builds parameters from values in {@link #NAMES} order. */
+    static CombatParams of(int[] values) {
+        if (values.length != NAMES.length) throw new IllegalArgumentException("Expected " + NAMES.length + " values");
+        return new CombatParams(values[0], values[1], values[2], values[3], values[4]);
+    }
+
+    int[] values() {
+        return new int[] { fistsPower, heavyWearThreat, loseBase, losePerThreat, maxWeapons };
+    }
+
+    /** Power of a player with no usable weapon; they win if it is at least the threat. */
+    public int getFistsPower() {
+        return fistsPower;
+    }
+
+    public int getHeavyWearThreat() {
+        return heavyWearThreat;
+    }
+
+    public int getLoseBase() {
+        return loseBase;
+    }
+
+    public int getLosePerThreat() {
+        return losePerThreat;
+    }
+
+    public int getMaxWeapons() {
+        return maxWeapons;
+    }
+
+    /** Durability a weapon loses winning against {@code threatLevel}. */
+    public int durabilityDecrease(int threatLevel) {
+        return threatLevel >= heavyWearThreat ? HEAVY_WEAR : LIGHT_WEAR;
+    }
+
+    /** Health lost in an unarmed defeat against {@code threatLevel}. */
+    public int loseHealthPenalty(int threatLevel) {
+        return loseBase + losePerThreat * threatLevel;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof CombatParams)) return false;
+        CombatParams p = (CombatParams) o;
+        return fistsPower == p.fistsPower && heavyWearThreat == p.heavyWearThreat && loseBase == p.loseBase
+            && losePerThreat == p.losePerThreat && maxWeapons == p.maxWeapons;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values());
+    }
+
+    @Override
+    public String toString() {
+        return "fists " + fistsPower + ", heavy wear at threat " + heavyWearThreat + ", lose " + loseBase + "+"
+            + losePerThreat + "*threat, " + maxWeapons + " weapons";
+    }
+}
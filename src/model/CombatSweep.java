@@ -0,0 +1,298 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Searches {@link CombatParams} for the best-balanced fights. Each candidate is
+ * simulated on every story with every preset, and scored by the survival curves
+ * ({@link Simulator.Stats#survival}) it produces. Lower scores are better: the share of
+ * runs still alive after {@value #HORIZON} choices should be close to the target, and
+ * the presets of a story should keep players alive about equally long.
+ *
+ * <pre>java -cp out;lib\gson-2.10.1.jar model.CombatSweep [grid|random:N] [runs] [seed] [name=1,2,3|name=1..4 ...]</pre>
+ * Parameter names are {@code fists}, {@code heavyWearAt}, {@code loseBase},
+ * {@code losePerThreat} and {@code maxWeapons}; ones not given keep their default
+ * range. Defaults: the full grid, 10,000 runs per story and preset, seed 1. The target
+ * is {@code -Dzombie.sweep.target} (default 0.6) and the policy
+ * {@code -Dzombie.sweep.policy} (default {@code random}).
+ *
+ * <p>Candidates are spread over all cores with a parallel stream, each simulated on the
+ * thread that picked it up. Results are cached per parameter tuple, so a random search
+ * that draws the same tuple twice, or a later search on the same sweep, reuses them.
+ * Every candidate plays the same seed, so differences come from the parameters rather
+ * than the dice.
+ */
+public final class CombatSweep {
+    static final int HORIZON = 30;
+
+    // default search range per parameter, in CombatParams.NAMES order
+    private static final int[][] DEFAULT_AXES = {
+        { 0, 2, 4, 6, 8 },
+        { 3, 5, 7 },
+        { 15, 25, 35 },
+        { 0, 2, 4 },
+        { 1, 2, 3 },
+    };
+
+    /** One scored parameter tuple. */
+    public static final class Candidate {
+        private final CombatParams params;
+        private final double[][] curves;
+        private final double score;
+        private final double survival;
+        private final double spread;
+
+        Candidate(CombatParams params, double[][] curves, double score, double survival, double spread) {
+            this.params = params;
+            this.curves = curves;
+            this.score = score;
+            this.survival = survival;
+            this.spread = spread;
+        }
+
+        public CombatParams getParams() {
+            return params;
+        }
+
+        /** Survival curve per story and preset, in {@link CombatSweep#cells()} order. */
+        public double[][] getCurves() {
+            return curves;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        /** Mean share of runs alive after {@value CombatSweep#HORIZON} choices. */
+        public double getSurvival() {
+            return survival;
+        }
+
+        /** Mean variance, between presets of one story, of the area under the survival curve. */
+        public double getSpread() {
+            return spread;
+        }
+    }
+
+    private final String[] storyPaths;
+    private final SceneLoader[] stories;
+    private final long runs;
+    private final Simulator.Policy policy;
+    private final long seed;
+    private final double target;
+    private final ConcurrentHashMap<CombatParams, CompletableFuture<Candidate>> cache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+
+    public CombatSweep(String[] storyPaths, long runs, Simulator.Policy policy, long seed, double target) {
+        this.storyPaths = storyPaths.clone();
+        this.stories = new SceneLoader[storyPaths.length];
+        for (int i = 0; i < storyPaths.length; i++) {
+            stories[i] = StoryRepository.loadForBatch(storyPaths[i]);
+        }
+        this.runs = runs;
+        this.policy = policy;
+        this.seed = seed;
+        this.target = target;
+    }
+
+    /** "story | preset" labels of the curves, story by story. */
+    public List<String> cells() {
+        List<String> cells = new ArrayList<>();
+        for (String path : storyPaths) {
+            for (String preset : Simulator.PRESETS) cells.add(path + " | " + preset);
+        }
+        return cells;
+    }
+
+    /** Scores every candidate on all cores; the result has each tuple once, best first. */
+    public List<Candidate> evaluate(List<CombatParams> candidates) {
+        return candidates.parallelStream()
+            .map(this::candidate)
+            .distinct() // repeats come back as the cached instance
+            .sorted(Comparator.comparingDouble(Candidate::getScore))
+            .collect(Collectors.toList());
+    }
+
+    /** The scored candidate for {@code params}, simulated at most once per sweep. */
+    public Candidate candidate(CombatParams params) {
+        CompletableFuture<Candidate> mine = new CompletableFuture<>();
+        CompletableFuture<Candidate> cached = cache.putIfAbsent(params, mine);
+        if (cached != null) {
+            hits.increment();
+            return cached.join();
+        }
+        try {
+            Candidate candidate = score(params);
+            mine.complete(candidate);
+            return candidate;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /** How many lookups were answered from the cache. */
+    public long getCacheHits() {
+        return hits.sum();
+    }
+
+    private Candidate score(CombatParams params) {
+        int presets = Simulator.PRESETS.length;
+        double[][] curves = new double[stories.length * presets][];
+        double survival = 0;
+        double spread = 0;
+        for (int s = 0; s < stories.length; s++) {
+            double[] areas = new double[presets];
+            for (int p = 0; p < presets; p++) {
+                // shards on this thread: the candidates already keep every core busy
+                Simulator.Stats stats = Simulator.simulate(stories[s], Simulator.PRESETS[p], runs, policy, seed, params, false);
+                double[] curve = stats.survival(HORIZON);
+                curves[s * presets + p] = curve;
+                survival += curve[HORIZON];
+                areas[p] = area(curve);
+            }
+            spread += variance(areas);
+        }
+        survival /= curves.length;
+        spread /= stories.length;
+        double miss = survival - target;
+        return new Candidate(params, curves, miss * miss + spread, survival, spread);
+    }
+
+    // mean survival over choices 1..HORIZON, in [0, 1]
+    private static double area(double[] curve) {
+        double sum = 0;
+        for (int k = 1; k < curve.length; k++) sum += curve[k];
+        return sum / (curve.length - 1);
+    }
+
+    private static double variance(double[] values) {
+        double mean = 0;
+        for (double v : values) mean += v;
+        mean /= values.length;
+        double sum = 0;
+        for (double v : values) sum += (v - mean) * (v - mean);
+        return sum / values.length;
+    }
+
+    /** Every combination of the axis values (one axis per parameter, in {@link CombatParams#NAMES} order). */
+    static List<CombatParams> grid(int[][] axes) {
+        List<CombatParams> grid = new ArrayList<>();
+        int[] at = new int[axes.length];
+        int[] values = new int[axes.length];
+        while (true) {
+            for (int i = 0; i < axes.length; i++) values[i] = axes[i][at[i]];
+            grid.add(CombatParams.of(values));
+            int i = axes.length - 1;
+            while (i >= 0 && ++at[i] == axes[i].length) at[i--] = 0;
+            if (i < 0) return grid;
+        }
+    }
+
+    /** {@code count} draws, each parameter picked uniformly from its axis; repeats are kept. */
+    static List<CombatParams> random(int[][] axes, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<CombatParams> draws = new ArrayList<>(count);
+        int[] values = new int[axes.length];
+        for (int n = 0; n < count; n++) {
+            for (int i = 0; i < axes.length; i++) values[i] = axes[i][random.nextInt(axes[i].length)];
+            draws.add(CombatParams.of(values));
+        }
+        return draws;
+    }
+
+    // "name=1,2,3" or "name=1..4" replaces that parameter's axis
+    static int[][] parseAxes(List<String> specs) {
+        int[][] axes = new int[DEFAULT_AXES.length][];
+        for (int i = 0; i < axes.length; i++) axes[i] = DEFAULT_AXES[i].clone();
+        for (String spec : specs) {
+            int eq = spec.indexOf('=');
+            int axis = eq < 0 ? -1 : Arrays.asList(CombatParams.NAMES).indexOf(spec.substring(0, eq).trim());
+            if (axis < 0) {
+                throw new IllegalArgumentException("Expected name=values with name one of " + Arrays.toString(CombatParams.NAMES) + ": " + spec);
+            }
+            String values = spec.substring(eq + 1).trim();
+            int range = values.indexOf("..");
+            if (range >= 0) {
+                int from = Integer.parseInt(values.substring(0, range).trim());
+                int to = Integer.parseInt(values.substring(range + 2).trim());
+                if (to < from) throw new IllegalArgumentException("Empty range: " + spec);
+                axes[axis] = new int[to - from + 1];
+                for (int v = from; v <= to; v++) axes[axis][v - from] = v;
+            } else {
+                Set<Integer> distinct = new LinkedHashSet<>();
+                for (String v : values.split(",")) distinct.add(Integer.parseInt(v.trim()));
+                axes[axis] = distinct.stream().mapToInt(Integer::intValue).toArray();
+            }
+        }
+        return axes;
+    }
+
+    private static void printCurves(CombatSweep sweep, String title, Candidate c) {
+        System.out.printf("%n%s: %s%n", title, c.getParams());
+        List<String> cells = sweep.cells();
+        for (int i = 0; i < cells.size(); i++) {
+            double[] curve = c.getCurves()[i];
+            System.out.printf("  alive after 5/10/20/%d choices: %5.1f%% %5.1f%% %5.1f%% %5.1f%%  %s%n",
+                HORIZON, 100 * curve[5], 100 * curve[10], 100 * curve[20], 100 * curve[HORIZON], cells.get(i));
+        }
+    }
+
+    public static void main(String[] args) {
+        String mode = args.length > 0 ? args[0] : "grid";
+        long runs = args.length > 1 ? Long.parseLong(args[1].replace("_", "")) : 10_000L;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+        int[][] axes = parseAxes(args.length > 3 ? Arrays.asList(args).subList(3, args.length) : List.of());
+        double target = Double.parseDouble(System.getProperty("zombie.sweep.target", "0.6"));
+        Simulator.Policy policy = Simulator.Policies.named(System.getProperty("zombie.sweep.policy", "random"));
+
+        List<CombatParams> candidates;
+        if (mode.equals("grid")) {
+            candidates = grid(axes);
+        } else if (mode.startsWith("random:")) {
+            candidates = random(axes, Integer.parseInt(mode.substring("random:".length())), seed);
+        } else {
+            throw new IllegalArgumentException("Mode must be grid or random:N, not " + mode);
+        }
+        // always score the game's own settings, to compare against
+        if (!candidates.contains(CombatParams.DEFAULT)) {
+            candidates = new ArrayList<>(candidates);
+            candidates.add(CombatParams.DEFAULT);
+        }
+
+        InventoryPresets.preload();
+        DebugLog.setEnabled(false);
+        System.out.printf("[DEBUG] Sweeping %,d candidates, %,d runs per story and preset, policy %s, seed %d, target %.0f%% alive, %d cores%n",
+            candidates.size(), runs, policy, seed, 100 * target, Runtime.getRuntime().availableProcessors());
+        CombatSweep sweep = new CombatSweep(Simulator.STORIES, runs, policy, seed, target);
+        long started = System.nanoTime();
+        List<Candidate> ranked = sweep.evaluate(candidates);
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        System.out.printf("Scored %,d distinct candidates in %,d ms (%,d cache hits)%n",
+            ranked.size(), millis, sweep.getCacheHits());
+
+        System.out.println();
+        Candidate current = null;
+        for (int rank = 0; rank < ranked.size(); rank++) {
+            Candidate c = ranked.get(rank);
+            boolean isDefault = c.getParams().equals(CombatParams.DEFAULT);
+            if (isDefault) current = c;
+            if (rank < 10 || isDefault) {
+                System.out.printf("#%-4d score %.5f | alive %.1f%% | preset spread %.5f | %s%s%n", rank + 1, c.getScore(),
+                    100 * c.getSurvival(), c.getSpread(), c.getParams(), isDefault ? " (current game)" : "");
+            }
+        }
+        printCurves(sweep, "Best", ranked.get(0));
+        printCurves(sweep, "Current game", current);
+    }
+}
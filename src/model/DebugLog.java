@@ -0,0 +1,20 @@
+package model;
+
+/**
+ * Switch for the "[DEBUG]" console output of the game rules. It is on while playing;
+ * batch tools such as {@link Simulator} turn it off, since formatting a line per rule
+ * costs far more than the rule itself.
+ */
+public final class DebugLog {
+    private static volatile boolean enabled = true;
+
+    private DebugLog() { }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+}
@@ -6,6 +6,7 @@ public class GameChoice {
     private String nextId;
     private int healthEffect;
     private String currentSceneId;
+    private int nextSceneIndex = SceneLoader.NO_SCENE;
 
     public GameChoice(String label, String imagePath, String nextId, int healthEffect) {
         this.label = label;
@@ -27,6 +28,15 @@ public class GameChoice {
         return nextId;
     }
 
+    // Index of the nextId scene, resolved when the story is linked.
+    public int getNextSceneIndex() {
+        return nextSceneIndex;
+    }
+
+    void setNextSceneIndex(int nextSceneIndex) {
+        this.nextSceneIndex = nextSceneIndex;
+    }
+
     public int getHealthEffect() {
         return healthEffect;
     }
@@ -0,0 +1,218 @@
+package model;
+
+/**
+ * The game rules, without any UI: entering a scene (bitten redirect, effects, item
+ * pickup, health change), starting a run from an inventory preset, and resolving a
+ * choice, including fights. {@link #step} takes a {@link RunState} and a choice and
+ * returns a {@link StepOutcome}; decisions the rules can't make on their own go to the
+ * {@link PlayerDecisions} strategy.
+ *
+ * <p>An engine only holds the story, the strategy and the {@link CombatParams}, so one
+ * engine can serve many runs, on any thread, as long as each run has its own
+ * {@link RunState}.
+ */
+public final class GameEngine {
+    public static final String START_SCENE_ID = "start";
+    public static final String INVENTORY_CHOICE_ID = "inventory_choice";
+
+    private final SceneLoader story;
+    private final PlayerDecisions decisions;
+    private final CombatParams params;
+
+    public GameEngine(SceneLoader story, PlayerDecisions decisions) {
+        this(story, decisions, CombatParams.DEFAULT);
+    }
+
+    public GameEngine(SceneLoader story, PlayerDecisions decisions, CombatParams params) {
+        this.story = story;
+        this.decisions = decisions != null ? decisions : PlayerDecisions.KEEP_CURRENT;
+        this.params = params != null ? params : CombatParams.DEFAULT;
+    }
+
+    public SceneLoader getStory() {
+        return story;
+    }
+
+    public CombatParams getParams() {
+        return params;
+    }
+
+    /**
+     * Starts a run: resets the per-run flags, replaces the inventory with the preset's
+     * items and enters the start scene.
+     */
+    public StepOutcome start(RunState state, String preset) {
+        applyPreset(state, preset);
+        GameScene first = story.getSceneById(START_SCENE_ID);
+        if (first == null) {
+            if (DebugLog.isEnabled()) System.out.println("[DEBUG] Failed to load starting scene.");
+            return StepOutcome.nowhere();
+        }
+        if (DebugLog.isEnabled()) System.out.println("[DEBUG] Starting scene: " + first.getId());
+        return enter(state, first);
+    }
+
+    public void applyPreset(RunState state, String preset) {
+        GameModel model = state.getModel();
+        // Reset per-run flags so item pickup (like Antidote) can happen again
+        state.reset();
+        model.setAntidoteUsed(false);
+
+        model.clearInventory();
+        model.getItems().setWeaponLimit(params.getMaxWeapons());
+        for (InventoryItem item : InventoryPresets.newItems(preset)) {
+            model.addItem(item);
+        }
+        if (DebugLog.isEnabled()) System.out.println("[DEBUG] Applied " + preset + " inventory");
+    }
+
+    /** Resolves {@code choice} on the current scene and enters the scene it leads to. */
+    public StepOutcome step(RunState state, GameChoice choice) {
+        GameScene scene = state.getScene();
+        if (scene != null && INVENTORY_CHOICE_ID.equals(scene.getId())) {
+            return start(state, choice.getLabel());
+        }
+        if (scene != null && isFight(scene, choice)) {
+            return fight(state, scene, choice);
+        }
+        if (DebugLog.isEnabled()) System.out.printf("[DEBUG] No fight calculation for choice \"%s\"; loading scene: %s%n",
+            choice.getLabel(), choice.getNextId());
+        GameScene next = story.getSceneByIndex(choice.getNextSceneIndex());
+        if (next == null) {
+            if (DebugLog.isEnabled()) System.out.println("[DEBUG] No scene found with id " + choice.getNextId());
+            return StepOutcome.nowhere();
+        }
+        return enter(state, next);
+    }
+
+    /**
+     * Moves the run onto {@code scene} and applies its rules: a bitten scene redirects to
+     * the infection choice (with the Antidote) or to the infection game over, then the
+     * scene's effects run, its item is picked up once per run and its health change is
+     * applied once per visit.
+     */
+    public StepOutcome enter(RunState state, GameScene scene) {
+        GameModel model = state.getModel();
+        if (DebugLog.isEnabled()) System.out.println("[DEBUG] Scene " + scene.getId() + " bitten flag: " + scene.isBitten());
+
+        // resolve bitten -> infection/game over first (use current inventory to decide)
+        if (scene.isBitten()) {
+            boolean hasAntidote = model.getItems().find("Antidote", ItemType.KEY_ITEM) != null;
+            if (hasAntidote) {
+                if (DebugLog.isEnabled()) System.out.println("[DEBUG] Player is bitten and has the antidote, switching to infection_choice scene.");
+                scene = story.getSceneByIndex(story.getInfectionChoiceIndex());
+            } else {
+                if (DebugLog.isEnabled()) System.out.println("[DEBUG] Player is bitten and does NOT have the antidote, switching to game_over_infection scene.");
+                scene = story.getSceneByIndex(story.getGameOverInfectionIndex());
+            }
+            if (scene == null) return StepOutcome.nowhere();
+        }
+        state.setScene(scene);
+
+        // apply the scene's precompiled effects (e.g., using the Antidote)
+        scene.applyEffects(model);
+
+        if (scene.hasAddItem() && !state.isProcessed(scene.getId())) {
+            pickUp(state, scene);
+        }
+
+        // apply health changes guarded by the shown scene id
+        if (!scene.getId().equals(state.getLastHealthAppliedSceneId())) {
+            if (scene.getHealthChange() == -1) {
+                model.setHealth(0);
+                if (DebugLog.isEnabled()) System.out.println("[DEBUG] HealthChange is -1 for scene " + scene.getId() + ". Health set to 0.");
+            } else {
+                int before = model.getHealth();
+                model.subtractHealth(scene.getHealthChange());
+                if (DebugLog.isEnabled()) System.out.println("[DEBUG] Applied scene healthChange: "
+                    + scene.getHealthChange() + " | Health before: "
+                    + before + ", after: " + model.getHealth());
+            }
+            state.setLastHealthAppliedSceneId(scene.getId());
+        }
+        return StepOutcome.entered(scene, model);
+    }
+
+    /** True if picking {@code choice} on {@code scene} starts a fight. */
+    public static boolean isFight(GameScene scene, GameChoice choice) {
+        return scene.getThreatLevel() > -1 && containsFight(choice.getLabel());
+    }
+
+    private void pickUp(RunState state, GameScene scene) {
+        GameModel model = state.getModel();
+        InventoryItem item = scene.getAddItem();
+        boolean added;
+        if (item.isWeapon() && model.getItems().isFull(ItemType.WEAPON)) {
+            InventoryItem dropped = decisions.weaponToDrop(model.getItems().get(ItemType.WEAPON), item);
+            added = dropped != null && model.getItems().remove(dropped) && model.addItem(item);
+            if (added) {
+                if (DebugLog.isEnabled()) System.out.println("[DEBUG] Removed weapon: " + dropped.getName() + " | Added new item: " + item.getName());
+            }
+        } else {
+            // for key items, addItem asks the strategy before swapping
+            added = model.addItem(item, decisions);
+        }
+        if (added) {
+            state.markProcessed(scene.getId());
+            if (DebugLog.isEnabled()) System.out.println("[DEBUG] Added item from scene: " + scene.getId() + " -> " + item.getName());
+        } else {
+            if (DebugLog.isEnabled()) System.out.println("[DEBUG] Player declined or addItem failed for scene: " + scene.getId() + " -> " + item.getName());
+        }
+    }
+
+    private StepOutcome fight(RunState state, GameScene scene, GameChoice choice) {
+        GameModel model = state.getModel();
+        int threatLevel = scene.getThreatLevel();
+        if (DebugLog.isEnabled()) System.out.printf("[DEBUG] Fight: Scene \"%s\" with fightNumber: %d, threatLevel: %d%n",
+            scene.getId(), scene.getFightNumber(), threatLevel);
+        int winSceneIndex = (scene.getFightWinSceneIndex() == SceneLoader.CHOICE_TARGET)
+            ? choice.getNextSceneIndex() : scene.getFightWinSceneIndex();
+
+        InventoryItem weapon = model.getItems().bestWeaponFor(threatLevel);
+        boolean won;
+        boolean broke = false;
+        if (weapon != null) {
+            int oldDurability = weapon.getDurability();
+            broke = model.wearWeapon(weapon, params.durabilityDecrease(threatLevel));
+            model.subtractHealth(-winHealthPenalty(threatLevel));
+            won = true;
+            if (DebugLog.isEnabled()) System.out.printf("[DEBUG] WIN | used %s (power %d >= threat %d), durability decreased from %d to %d | new health: %d%n",
+                weapon.getName(), weapon.getPower(), threatLevel, oldDurability, weapon.getDurability(), model.getHealth());
+        } else if (params.getFistsPower() >= threatLevel) {
+            model.subtractHealth(-winHealthPenalty(threatLevel));
+            won = true;
+            if (DebugLog.isEnabled()) System.out.printf("[DEBUG] WIN (unarmed) | fists power(%d) >= threat(%d) | new health: %d%n",
+                params.getFistsPower(), threatLevel, model.getHealth());
+        } else {
+            model.subtractHealth(-params.loseHealthPenalty(threatLevel));
+            won = false;
+            if (DebugLog.isEnabled()) System.out.printf("[DEBUG] LOSE (unarmed) | fists power(%d) < threat(%d) | new health: %d%n",
+                params.getFistsPower(), threatLevel, model.getHealth());
+        }
+
+        GameScene next = story.getSceneByIndex(won ? winSceneIndex : scene.getFightLoseSceneIndex());
+        if (next == null) {
+            if (DebugLog.isEnabled()) System.out.println("[DEBUG] No " + (won ? "win" : "lose") + " scene linked for fight in " + scene.getId());
+            return StepOutcome.nowhere();
+        }
+        return StepOutcome.fought(enter(state, next), won, weapon, broke);
+    }
+
+    private static int winHealthPenalty(int threatLevel) {
+        return 0;
+    }
+
+    // label.toLowerCase().contains("fight") without the copy
+    private static boolean containsFight(String label) {
+        if (label == null) return false;
+        for (int i = 0, last = label.length() - 5; i <= last; i++) {
+            if (label.regionMatches(true, i, "fight", 0, 5)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "GameEngine[" + story.getSceneCount() + " scenes]";
+    }
+}
@@ -1,19 +1,13 @@
 package model;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 public class GameModel {
     private boolean isDarkMode;
     private GameState currentState = GameState.TITLE;
     private int health;
-    private Map<ItemType, List<InventoryItem>> inventory = new HashMap<>();
-    private static final int MAX_CONSUMABLES = 3;
-    private static final int MAX_KEY_ITEMS = 1;
-    private static final int MAX_WEAPONS = 2;
+    private final Inventory inventory = new Inventory();
     private static final int INITIAL_HEALTH = 100;
     private InventoryItem keyItem;
     private boolean antidoteUsed = false;
@@ -21,17 +15,10 @@ public class GameModel {
     public GameModel() {
         isDarkMode = false;
         this.health = INITIAL_HEALTH;
-
-        for (ItemType type : ItemType.values()) {
-            inventory.put(type, new ArrayList<>());
-        }
-
-        List<InventoryItem> initialItems = InventoryLoader.load("src/data/inventory.json");
-        for (InventoryItem item : initialItems) {
-            addItem(item);
-        }
+        resetInventory();
     }
 
+
     public boolean isDarkMode() {
         return isDarkMode;
     }
@@ -66,76 +53,66 @@ public class GameModel {
         health = Math.max(0, Math.min(100, health));
     }
     
+    /** Adds {@code item}; an extra key item is only taken if it can replace the one held, so this keeps the current one. */
     public boolean addItem(InventoryItem item) {
+        return addItem(item, PlayerDecisions.KEEP_CURRENT);
+    }
+
+    /** Adds {@code item}, asking {@code decisions} whether a new key item replaces the one held. */
+    public boolean addItem(InventoryItem item, PlayerDecisions decisions) {
         if (item.getType() == ItemType.KEY_ITEM) {
             if (item.getName().equalsIgnoreCase("Antidote")) {
                 setAntidoteUsed(false);
-                System.out.println("[DEBUG] Antidote used flag reset since a new antidote was found.");
+                if (DebugLog.isEnabled()) System.out.println("[DEBUG] Antidote used flag reset since a new antidote was found.");
             }
             List<InventoryItem> keyItems = inventory.get(ItemType.KEY_ITEM);
-            if (keyItems != null && !keyItems.isEmpty()) {
-                javafx.scene.control.Alert confirm = new javafx.scene.control.Alert(javafx.scene.control.Alert.AlertType.CONFIRMATION);
-                confirm.setTitle("Key Item Swap Confirmation");
-                confirm.setHeaderText("Key item already exists.");
-                confirm.setContentText("You already have the key item \""
-                    + keyItems.get(0).getName()
-                    + "\". Are you sure you want to swap it for \""
-                    + item.getName() + "\"?");
-
-                java.util.Optional<javafx.scene.control.ButtonType> result = confirm.showAndWait();
-                if (result.isPresent() && result.get() == javafx.scene.control.ButtonType.OK) {
-                    keyItems.clear();
-                    System.out.println("[DEBUG] Existing key item removed for swap.");
+            if (!keyItems.isEmpty()) {
+                if (decisions.swapKeyItem(keyItems.get(0), item)) {
+                    inventory.clear(ItemType.KEY_ITEM);
+                    if (DebugLog.isEnabled()) System.out.println("[DEBUG] Existing key item removed for swap.");
                 } else {
-                    System.out.println("[DEBUG] User canceled key item swap. Skipping add for: " + item.getName());
+                    if (DebugLog.isEnabled()) System.out.println("[DEBUG] User canceled key item swap. Skipping add for: " + item.getName());
                     return false;
                 }
             }
         }
-        inventory.putIfAbsent(item.getType(), new ArrayList<>());
-        List<InventoryItem> items = inventory.get(item.getType());
-
-        int limit = switch (item.getType()) {
-            case WEAPON -> MAX_WEAPONS;
-            case CONSUMABLE -> MAX_CONSUMABLES;
-            case KEY_ITEM -> MAX_KEY_ITEMS;
-        };
-
-        if (item.isWeapon() && items.size() >= limit) {
-            System.out.println("[DEBUG] Weapon limit reached, not adding: " + item.getName());
+        if (!inventory.add(item)) {
+            if (DebugLog.isEnabled()) System.out.println("[DEBUG] " + item.getType() + " limit reached, not adding: " + item.getName());
             return false;
         }
-        items.add(item);
-        System.out.println("[DEBUG] Added item: " + item.getName() + ", inventory now: " + inventory);
+        if (DebugLog.isEnabled()) System.out.println("[DEBUG] Added item: " + item.getName() + ", inventory now: " + inventory);
         return true;
     }
 
+    /** Removes one item with this name (case-insensitive). */
     public boolean removeItem(String itemName) {
-        for (List<InventoryItem> items : inventory.values()) {
-            if (items.removeIf(i -> i.getName().equals(itemName))) return true;
-        }
-        return false;
+        return inventory.removeByName(itemName) != null;
+    }
+
+    public boolean hasItem(String itemName) {
+        return inventory.contains(itemName);
     }
 
+    /** Read-only view of the items by type; change them through the model. */
     public Map<ItemType, List<InventoryItem>> getInventory() {
-        return inventory; 
+        return inventory.asMap();
+    }
+
+    public Inventory getItems() {
+        return inventory;
     }
 
     public boolean consumeItem(InventoryItem item) {
         if (item != null && item.isConsumable()) {
             addHealth(item.getHealthRestore());
-            for (List<InventoryItem> itemList : inventory.values()) {
-                if (itemList.remove(item)) {
-                    break;
-                }
-            }
+            inventory.remove(item);
             return true;
         }
         return false;
     }
 
     public void removeFromInventory(InventoryItem item) {
-        inventory.get(item.getType()).remove(item);
+        inventory.remove(item);
     }
 
     public InventoryItem getKeyItem() {
@@ -146,16 +123,16 @@ public class GameModel {
         this.keyItem = keyItem;
     }
 
-    public void reloadInventory() {
-        this.inventory = InventoryLoader.load("src/data/inventory.json")
-            .stream()
-            .collect(Collectors.groupingBy(InventoryItem::getType));
+    /** Replaces the inventory with fresh items from the starting preset ({@code src/data/inventory.json}). */
+    public void resetInventory() {
+        clearInventory();
+        for (InventoryItem item : InventoryPresets.newItems(InventoryPresets.STARTING)) {
+            addItem(item);
+        }
     }
 
     public void clearInventory() {
-        if (inventory != null) {
-            inventory.clear();
-        }
+        inventory.clear();
     }
 
     public void resetHealth() {
@@ -170,36 +147,31 @@ public class GameModel {
         this.antidoteUsed = antidoteUsed;
     }
 
-    public void removeBrokenWeapons() {
-        List<InventoryItem> weapons = inventory.get(ItemType.WEAPON);
-        if (weapons != null) {
-            weapons.removeIf(weapon -> weapon.getDurability() <= 0);
-            System.out.println("[DEBUG] Broken weapons removed. Current weapons: " + weapons);
+    /** Wears {@code weapon} down after a fight; a weapon that breaks is dropped right away and true is returned. */
+    public boolean wearWeapon(InventoryItem weapon, int amount) {
+        if (inventory.wear(weapon, amount)) {
+            if (DebugLog.isEnabled()) System.out.println("[DEBUG] Weapon broke and was removed: " + weapon.getName());
+            return true;
         }
+        return false;
     }
 
     // NEW: decrement durability on a key item and remove it when it reaches 0
     public boolean decrementKeyItemDurabilityByName(String itemName, int amount, boolean removeOnZero) {
-        List<InventoryItem> keyItems = inventory.get(ItemType.KEY_ITEM);
-        if (keyItems == null || keyItems.isEmpty()) return false;
-
-        for (int i = 0; i < keyItems.size(); i++) {
-            InventoryItem it = keyItems.get(i);
-            if (it != null && itemName.equalsIgnoreCase(it.getName())) {
-                int before = it.getDurability();
-                it.decreaseDurability(amount);
-                int after = it.getDurability();
-                System.out.printf("[DEBUG] Decremented key item \"%s\" durability %d -> %d%n", it.getName(), before, after);
-                if (after <= 0 && removeOnZero) {
-                    keyItems.remove(i);
-                    if ("Antidote".equalsIgnoreCase(it.getName())) {
-                        setAntidoteUsed(true);
-                    }
-                    System.out.println("[DEBUG] Removed key item \"" + it.getName() + "\" because durability <= 0");
-                }
-                return true;
+        InventoryItem it = inventory.find(itemName, ItemType.KEY_ITEM);
+        if (it == null) return false;
+
+        int before = it.getDurability();
+        it.decreaseDurability(amount);
+        int after = it.getDurability();
+        if (DebugLog.isEnabled()) System.out.printf("[DEBUG] Decremented key item \"%s\" durability %d -> %d%n", it.getName(), before, after);
+        if (after <= 0 && removeOnZero) {
+            inventory.remove(it);
+            if ("Antidote".equalsIgnoreCase(it.getName())) {
+                setAntidoteUsed(true);
             }
+            if (DebugLog.isEnabled()) System.out.println("[DEBUG] Removed key item \"" + it.getName() + "\" because durability <= 0");
         }
-        return false;
+        return true;
     }
 }
@@ -1,9 +1,11 @@
 package model;
 
 import java.util.List;
-import com.google.gson.JsonObject;
 
 public class GameScene {
+    private int index = SceneLoader.NO_SCENE;
+    private int fightWinSceneIndex = SceneLoader.NO_SCENE;
+    private int fightLoseSceneIndex = SceneLoader.NO_SCENE;
     private int fightNumber = 1;
     private String newKeyItem;
     private boolean eaten;
@@ -48,7 +50,7 @@ public class GameScene {
         this.eaten = eaten;
     }
 
-    private JsonObject rawJson;
+    private SceneEffect[] effects = SceneEffects.NONE;
 
     private String id;
     private String prompt;
@@ -68,6 +70,29 @@ public class GameScene {
     public List<GameChoice> getChoices() { return choices; }
     public int getThreatLevel() { return threatLevel; }
 
+    // Dense index assigned by SceneLoader when the story is linked.
+    public int getIndex() {
+        return index;
+    }
+
+    void setIndex(int index) {
+        this.index = index;
+    }
+
+    // CHOICE_TARGET means the fight choice's own target is the win scene; NO_SCENE means the win scene is missing.
+    public int getFightWinSceneIndex() {
+        return fightWinSceneIndex;
+    }
+
+    public int getFightLoseSceneIndex() {
+        return fightLoseSceneIndex;
+    }
+
+    void setFightTargets(int winSceneIndex, int loseSceneIndex) {
+        this.fightWinSceneIndex = winSceneIndex;
+        this.fightLoseSceneIndex = loseSceneIndex;
+    }
+
     public int getFightNumber() { 
         return fightNumber; 
     }
@@ -80,8 +105,9 @@ public class GameScene {
         return addItem != null;
     }
 
+    // Scenes are shared through StoryRepository, so every pickup gets its own copy of the item.
     public InventoryItem getAddItem() {
-        return addItem;
+        return addItem != null ? addItem.copy() : null;
     }
 
     public void setNewKeyItem(String newKeyItem) {
@@ -96,13 +122,19 @@ public class GameScene {
         this.threatLevel = threatLevel;
     }
 
-    // Getter for rawJson
-    public JsonObject getRawJson() {
-        return rawJson;
+    public boolean hasEffects() {
+        return effects.length > 0;
+    }
+
+    // Runs the effects compiled from the scene's flags (useAntidote, decrementKeyItemDurability, ...).
+    public void applyEffects(GameModel model) {
+        for (int i = 0; i < effects.length; i++) {
+            effects[i].apply(model);
+        }
     }
 
-    public void setRawJson(JsonObject rawJson) {
-        this.rawJson = rawJson;
+    void setEffects(SceneEffect[] effects) {
+        this.effects = effects;
     }
 
     public boolean isBitten() {
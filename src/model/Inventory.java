@@ -0,0 +1,212 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The player's items: one bucket per {@link ItemType} plus an index by name
+ * (case-insensitive). Every type has a cap ({@link #limit}), so buckets stay a few
+ * items long and lookups, limit checks and removals are constant time. Items are
+ * matched by identity, and kept in the order they were added.
+ *
+ * <p>Weapons are also kept ordered by power, so a fight asks {@link #bestWeaponFor} for
+ * the weakest usable weapon that still beats the threat with a binary search and no
+ * allocation. A weapon worn down to zero durability through {@link #wear} leaves the
+ * inventory right away.
+ *
+ * <p>{@link #limit} gives the game's caps; the weapon cap of one inventory can be changed
+ * with {@link #setWeaponLimit} (see {@link CombatParams#getMaxWeapons()}).
+ *
+ * <p>{@link #asMap()} is a read-only live view for code that only reads the
+ * inventory (views, snapshots).
+ */
+public final class Inventory {
+    public static final int MAX_WEAPONS = 2;
+    public static final int MAX_CONSUMABLES = 3;
+    public static final int MAX_KEY_ITEMS = 1;
+
+    private static final ItemType[] TYPES = ItemType.values();
+
+    private final EnumMap<ItemType, ArrayList<InventoryItem>> buckets = new EnumMap<>(ItemType.class);
+    private final Map<ItemType, List<InventoryItem>> view;
+    private final Map<String, ArrayList<InventoryItem>> byName = new HashMap<>();
+    private final ArrayList<InventoryItem> weaponsByPower = new ArrayList<>(MAX_WEAPONS); // ascending, stable
+    private int weaponLimit = MAX_WEAPONS;
+    private int size;
+
+    public Inventory() {
+        EnumMap<ItemType, List<InventoryItem>> readOnly = new EnumMap<>(ItemType.class);
+        for (ItemType type : TYPES) {
+            ArrayList<InventoryItem> bucket = new ArrayList<>(limit(type));
+            buckets.put(type, bucket);
+            readOnly.put(type, Collections.unmodifiableList(bucket));
+        }
+        view = Collections.unmodifiableMap(readOnly);
+    }
+
+    public static int limit(ItemType type) {
+        return switch (type) {
+            case WEAPON -> MAX_WEAPONS;
+            case CONSUMABLE -> MAX_CONSUMABLES;
+            case KEY_ITEM -> MAX_KEY_ITEMS;
+        };
+    }
+
+    /** This inventory's cap for {@code type}. */
+    public int capacity(ItemType type) {
+        return type == ItemType.WEAPON ? weaponLimit : limit(type);
+    }
+
+    /** Changes the weapon cap for later adds; weapons already carried are kept. */
+    void setWeaponLimit(int weaponLimit) {
+        this.weaponLimit = weaponLimit;
+    }
+
+    public Map<ItemType, List<InventoryItem>> asMap() {
+        return view;
+    }
+
+    /** Read-only live view of one type's items, never null. */
+    public List<InventoryItem> get(ItemType type) {
+        return view.get(type);
+    }
+
+    public int count(ItemType type) {
+        return buckets.get(type).size();
+    }
+
+    public boolean isFull(ItemType type) {
+        return buckets.get(type).size() >= capacity(type);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Adds {@code item} unless its type is at its limit. */
+    public boolean add(InventoryItem item) {
+        ArrayList<InventoryItem> bucket = buckets.get(item.getType());
+        if (bucket.size() >= capacity(item.getType())) return false;
+        bucket.add(item);
+        if (item.getType() == ItemType.WEAPON) {
+            weaponsByPower.add(firstAbove(item.getPower()), item);
+        }
+        byName.computeIfAbsent(key(item.getName()), k -> new ArrayList<>(1)).add(item);
+        size++;
+        return true;
+    }
+
+    /** The first item with this name (case-insensitive), or null. */
+    public InventoryItem find(String name) {
+        ArrayList<InventoryItem> named = byName.get(key(name));
+        return named == null ? null : named.get(0);
+    }
+
+    /** The first item of {@code type} with this name (case-insensitive), or null. */
+    public InventoryItem find(String name, ItemType type) {
+        ArrayList<InventoryItem> named = byName.get(key(name));
+        if (named == null) return null;
+        for (int i = 0; i < named.size(); i++) {
+            if (named.get(i).getType() == type) return named.get(i);
+        }
+        return null;
+    }
+
+    public boolean contains(String name) {
+        return byName.containsKey(key(name));
+    }
+
+    public boolean remove(InventoryItem item) {
+        if (item == null || !removeIdentity(buckets.get(item.getType()), item)) return false;
+        String k = key(item.getName());
+        ArrayList<InventoryItem> named = byName.get(k);
+        removeIdentity(named, item);
+        if (named.isEmpty()) byName.remove(k);
+        if (item.getType() == ItemType.WEAPON) removeIdentity(weaponsByPower, item);
+        size--;
+        return true;
+    }
+
+    /** Removes the first item with this name (case-insensitive); returns it, or null. */
+    public InventoryItem removeByName(String name) {
+        InventoryItem item = find(name);
+        if (item != null) remove(item);
+        return item;
+    }
+
+    /**
+     * The weakest unbroken weapon with power at least {@code threatLevel}, or null if
+     * none beats it. Ties go to the weapon picked up first.
+     */
+    public InventoryItem bestWeaponFor(int threatLevel) {
+        for (int i = firstAtLeast(threatLevel); i < weaponsByPower.size(); i++) {
+            InventoryItem weapon = weaponsByPower.get(i);
+            if (!weapon.isBroken()) return weapon;
+        }
+        return null;
+    }
+
+    /** Lowers {@code item}'s durability; removes it and returns true if that broke it. */
+    public boolean wear(InventoryItem item, int amount) {
+        item.decreaseDurability(amount);
+        return item.isBroken() && remove(item);
+    }
+
+    public void clear(ItemType type) {
+        ArrayList<InventoryItem> bucket = buckets.get(type);
+        for (int i = bucket.size() - 1; i >= 0; i--) {
+            remove(bucket.get(i));
+        }
+    }
+
+    public void clear() {
+        for (ArrayList<InventoryItem> bucket : buckets.values()) bucket.clear();
+        byName.clear();
+        weaponsByPower.clear();
+        size = 0;
+    }
+
+    // index of the first weapon with power >= p
+    private int firstAtLeast(int p) {
+        int lo = 0, hi = weaponsByPower.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (weaponsByPower.get(mid).getPower() < p) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // index of the first weapon with power > p, so equal powers keep their pickup order
+    private int firstAbove(int p) {
+        int lo = 0, hi = weaponsByPower.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (weaponsByPower.get(mid).getPower() <= p) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    private static boolean removeIdentity(ArrayList<InventoryItem> items, InventoryItem item) {
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i) == item) {
+                items.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        return view.toString();
+    }
+}
@@ -19,6 +19,10 @@ public class InventoryItem {
         this(name, type, 0, durability, power);
     }
 
+    public InventoryItem copy() {
+        return new InventoryItem(name, type, healthRestore, durability, power);
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,98 @@
+package model;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Starting inventories, read once from {@code src/data} into immutable
+ * {@link ItemTemplate}s. Starting a run only copies the templates into fresh items,
+ * so it never touches the disk and runs can't share item instances.
+ */
+public final class InventoryPresets {
+    public static final String STARTING = "starting";
+    public static final String HEALTH_HEAVY = "Health Heavy";
+    public static final String ATTACK_HEAVY = "Attack Heavy";
+    public static final String BALANCED = "Balanced";
+
+    private static final String[][] FILES = {
+        { STARTING, "inventory.json" },
+        { HEALTH_HEAVY, "health_inventory.json" },
+        { ATTACK_HEAVY, "attack_inventory.json" },
+        { BALANCED, "balanced_inventory.json" },
+    };
+
+    /** One item of a preset. Immutable; {@link #newItem()} makes the per-run copy. */
+    public static final class ItemTemplate {
+        private final String name;
+        private final ItemType type;
+        private final int healthRestore;
+        private final int durability;
+        private final int power;
+
+        ItemTemplate(InventoryItem item) {
+            this.name = item.getName();
+            this.type = item.getType();
+            this.healthRestore = item.getHealthRestore();
+            this.durability = item.getDurability();
+            this.power = item.getPower();
+        }
+
+        public InventoryItem newItem() {
+            return new InventoryItem(name, type, healthRestore, durability, power);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public ItemType getType() {
+            return type;
+        }
+    }
+
+    private static volatile Map<String, List<ItemTemplate>> presets;
+
+    private InventoryPresets() { }
+
+    /** Reads every preset file; called at startup so the first run doesn't pay for it. */
+    public static synchronized void preload() {
+        if (presets != null) return;
+        Map<String, List<ItemTemplate>> loaded = new HashMap<>();
+        for (String[] preset : FILES) {
+            List<ItemTemplate> templates = new ArrayList<>();
+            for (InventoryItem item : InventoryLoader.load(Paths.get("src", "data", preset[1]).toString())) {
+                templates.add(new ItemTemplate(item));
+            }
+            loaded.put(key(preset[0]), Collections.unmodifiableList(templates));
+        }
+        presets = Collections.unmodifiableMap(loaded);
+        System.out.println("[DEBUG] Loaded " + presets.size() + " inventory presets.");
+    }
+
+    /** The templates of a preset by its label (case-insensitive), empty if there is no such preset. */
+    public static List<ItemTemplate> templates(String label) {
+        Map<String, List<ItemTemplate>> loaded = presets;
+        if (loaded == null) {
+            preload();
+            loaded = presets;
+        }
+        return loaded.getOrDefault(key(label), Collections.emptyList());
+    }
+
+    /** Fresh items for one run of the preset. */
+    public static List<InventoryItem> newItems(String label) {
+        List<ItemTemplate> templates = templates(label);
+        List<InventoryItem> items = new ArrayList<>(templates.size());
+        for (ItemTemplate t : templates) items.add(t.newItem());
+        return items;
+    }
+
+    private static String key(String label) {
+        return label == null ? "" : label.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,32 @@
+package model;
+
+import java.util.List;
+
+/**
+ * The choices the rules leave to the player outside of a scene's own choices. The
+ * JavaFX client asks with dialogs; headless runs answer from a policy.
+ */
+public interface PlayerDecisions {
+
+    /** Whether to give up {@code current} for {@code offered}; only one key item fits. */
+    boolean swapKeyItem(InventoryItem current, InventoryItem offered);
+
+    /**
+     * Which of {@code weapons} to drop so {@code offered} fits, or null to leave
+     * {@code offered} behind. {@code weapons} is a read-only view.
+     */
+    InventoryItem weaponToDrop(List<InventoryItem> weapons, InventoryItem offered);
+
+    /** Keeps what the player already carries. */
+    PlayerDecisions KEEP_CURRENT = new PlayerDecisions() {
+        @Override
+        public boolean swapKeyItem(InventoryItem current, InventoryItem offered) {
+            return false;
+        }
+
+        @Override
+        public InventoryItem weaponToDrop(List<InventoryItem> weapons, InventoryItem offered) {
+            return null;
+        }
+    };
+}
@@ -0,0 +1,111 @@
+package model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Append-only archive of finished runs. Recording is off unless
+ * {@code -Dzombie.runLog=<file>} names the archive, so the game writes nothing extra by
+ * default and each instance can be pointed at its own file. The file is a magic number
+ * and version followed by length-prefixed {@link RunRecord}s. Appends go through the
+ * save writer thread, so the game never waits on them; a record cut short by a crash is
+ * dropped when the archive is read.
+ */
+public final class RunLog {
+    private static final String ARCHIVE_PROPERTY = "zombie.runLog";
+
+    private static final int MAGIC = 0x5A52554E; // "ZRUN"
+    private static final int VERSION = 1;
+
+    private RunLog() { }
+
+    /** The archive named by {@code -Dzombie.runLog}, or null when runs are not recorded. */
+    public static Path archive() {
+        String path = System.getProperty(ARCHIVE_PROPERTY);
+        return path == null || path.isBlank() ? null : Paths.get(path);
+    }
+
+    public static boolean isEnabled() {
+        return archive() != null;
+    }
+
+    /** Appends {@code record} to the configured archive; does nothing when recording is off. */
+    public static CompletableFuture<Void> append(RunRecord record) {
+        Path archive = archive();
+        return archive == null ? CompletableFuture.completedFuture(null) : append(archive, record);
+    }
+
+    static CompletableFuture<Void> append(Path file, RunRecord record) {
+        byte[] bytes;
+        try {
+            bytes = encode(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return SaveWriter.inOrder(file, () -> {
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+            ByteArrayOutputStream entry = new ByteArrayOutputStream(bytes.length + 16);
+            DataOutputStream out = new DataOutputStream(entry);
+            if (fresh) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+            }
+            SaveCodec.writeVar(out, bytes.length);
+            out.write(bytes);
+            Files.write(file, entry.toByteArray(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        });
+    }
+
+    /** Every complete record in {@code file}; empty if there is no archive yet. */
+    public static List<RunRecord> read(Path file) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return new ArrayList<>();
+        }
+        return decode(bytes, file.toString());
+    }
+
+    static byte[] encode(RunRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        record.write(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    static List<RunRecord> decode(byte[] bytes, String source) throws IOException {
+        List<RunRecord> records = new ArrayList<>();
+        if (bytes.length == 0) return records;
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (bytes.length < 5 || in.readInt() != MAGIC) throw new IOException("Not a run archive: " + source);
+        int version = in.readUnsignedByte();
+        if (version != VERSION) throw new IOException("Unsupported run archive version " + version + ": " + source);
+        while (in.available() > 0) {
+            try {
+                int length = (int) SaveCodec.readVar(in);
+                if (length < 0 || length > in.available()) throw new EOFException();
+                byte[] entry = new byte[length];
+                in.readFully(entry);
+                records.add(RunRecord.read(new DataInputStream(new ByteArrayInputStream(entry))));
+            } catch (EOFException e) {
+                System.err.println("[ERROR] Truncated record at the end of " + source + " ignored.");
+                break;
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,199 @@
+package model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One finished run, small enough to archive by the thousand: the story, the preset and
+ * starting health, and the player's moves as packed ints, plus where the run ended so a
+ * replay can tell when it comes out differently.
+ *
+ * <p>A move is {@code value << 2 | tag}: a choice index on the current scene, the
+ * consumable slot eaten, or the answer to a {@link PlayerDecisions} question (key-item
+ * swap: 0 keep / 1 swap; weapon to drop: 0 none / n the n-th weapon). An answer follows
+ * the choice (or the start) that asked for it.
+ */
+public final class RunRecord {
+    static final int CHOICE = 0;
+    static final int EAT = 1;
+    static final int ANSWER = 2;
+
+    private final String storyFilePath;
+    private final String preset;
+    private final int startHealth;
+    private final int[] moves;
+    private final StepOutcome.Kind endKind;
+    private final String endSceneId;
+    private final int endHealth;
+    private final long recordedAtMillis;
+
+    RunRecord(String storyFilePath, String preset, int startHealth, int[] moves,
+              StepOutcome.Kind endKind, String endSceneId, int endHealth, long recordedAtMillis) {
+        this.storyFilePath = storyFilePath;
+        this.preset = preset;
+        this.startHealth = startHealth;
+        this.moves = moves;
+        this.endKind = endKind;
+        this.endSceneId = endSceneId;
+        this.endHealth = endHealth;
+        this.recordedAtMillis = recordedAtMillis;
+    }
+
+    public String getStoryFilePath() {
+        return storyFilePath;
+    }
+
+    public String getPreset() {
+        return preset;
+    }
+
+    public int getStartHealth() {
+        return startHealth;
+    }
+
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    int move(int i) {
+        return moves[i];
+    }
+
+    public StepOutcome.Kind getEndKind() {
+        return endKind;
+    }
+
+    /** The scene the run ended on, or null for {@link StepOutcome.Kind#NO_SCENE}. */
+    public String getEndSceneId() {
+        return endSceneId;
+    }
+
+    public int getEndHealth() {
+        return endHealth;
+    }
+
+    public long getRecordedAtMillis() {
+        return recordedAtMillis;
+    }
+
+    static int tag(int move) {
+        return move & 3;
+    }
+
+    static int value(int move) {
+        return move >>> 2;
+    }
+
+    static int pack(int tag, int value) {
+        return value << 2 | tag;
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeUTF(storyFilePath);
+        out.writeUTF(preset);
+        SaveCodec.writeVar(out, startHealth);
+        SaveCodec.writeVar(out, moves.length);
+        for (int move : moves) SaveCodec.writeVar(out, move);
+        out.writeByte(endKind.ordinal());
+        out.writeUTF(endSceneId != null ? endSceneId : "");
+        SaveCodec.writeVar(out, endHealth);
+        SaveCodec.writeVar(out, recordedAtMillis);
+    }
+
+    static RunRecord read(DataInputStream in) throws IOException {
+        String story = in.readUTF();
+        String preset = in.readUTF();
+        int startHealth = (int) SaveCodec.readVar(in);
+        int count = (int) SaveCodec.readVar(in);
+        if (count < 0) throw new IOException("Bad move count " + count);
+        int[] moves = new int[count];
+        for (int i = 0; i < count; i++) moves[i] = (int) SaveCodec.readVar(in);
+        int kind = in.readUnsignedByte();
+        StepOutcome.Kind[] kinds = StepOutcome.Kind.values();
+        if (kind >= kinds.length) throw new IOException("Bad ending kind " + kind);
+        String endScene = in.readUTF();
+        int endHealth = (int) SaveCodec.readVar(in);
+        long at = SaveCodec.readVar(in);
+        return new RunRecord(story, preset, startHealth, moves, kinds[kind], endScene.isEmpty() ? null : endScene, endHealth, at);
+    }
+
+    @Override
+    public String toString() {
+        return storyFilePath + " | " + preset + " | " + moves.length + " moves | " + endKind
+            + (endSceneId != null ? " " + endSceneId : "") + " | health " + endHealth;
+    }
+
+    /**
+     * Builds the record of the run being played. {@link #begin} starts over, and a run that
+     * is abandoned before it ends is simply never finished. Used from one thread.
+     */
+    public static final class Recorder {
+        private String storyFilePath;
+        private String preset;
+        private int startHealth;
+        private int[] moves = new int[64];
+        private int size;
+        private boolean active;
+
+        public void begin(String storyFilePath, String preset, int startHealth) {
+            this.storyFilePath = storyFilePath;
+            this.preset = preset;
+            this.startHealth = startHealth;
+            this.size = 0;
+            this.active = storyFilePath != null && preset != null;
+        }
+
+        public void choice(int index) {
+            add(CHOICE, index);
+        }
+
+        public void eat(int consumableSlot) {
+            add(EAT, consumableSlot);
+        }
+
+        /** Wraps {@code decisions} so each answer is recorded as it is given. */
+        public PlayerDecisions recording(PlayerDecisions decisions) {
+            return new PlayerDecisions() {
+                @Override
+                public boolean swapKeyItem(InventoryItem current, InventoryItem offered) {
+                    boolean swap = decisions.swapKeyItem(current, offered);
+                    add(ANSWER, swap ? 1 : 0);
+                    return swap;
+                }
+
+                @Override
+                public InventoryItem weaponToDrop(List<InventoryItem> weapons, InventoryItem offered) {
+                    InventoryItem dropped = decisions.weaponToDrop(weapons, offered);
+                    int answer = 0;
+                    for (int i = 0; dropped != null && i < weapons.size(); i++) {
+                        if (weapons.get(i) == dropped) answer = i + 1;
+                    }
+                    add(ANSWER, answer);
+                    return dropped;
+                }
+            };
+        }
+
+        /** Ends the recording at a final outcome; null if nothing was being recorded. */
+        public RunRecord finish(StepOutcome outcome, GameModel model) {
+            if (!active) return null;
+            active = false;
+            return new RunRecord(storyFilePath, preset, startHealth, Arrays.copyOf(moves, size), outcome.getKind(),
+                outcome.getScene() != null ? outcome.getScene().getId() : null, model.getHealth(), System.currentTimeMillis());
+        }
+
+        private void add(int tag, int value) {
+            if (!active) return;
+            if (value < 0) {
+                // a move that can't be written down makes the run unreplayable; stop recording it
+                active = false;
+                return;
+            }
+            if (size == moves.length) moves = Arrays.copyOf(moves, size * 2);
+            moves[size++] = pack(tag, value);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package model;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Re-plays archived {@link RunRecord}s headlessly against the current story files and
+ * rules, on all cores, and reports every run that no longer plays out the same: a choice
+ * or food slot that no longer exists, a prompt that is asked or not asked any more, a run
+ * that ends early or not at all, or a different ending or final health.
+ *
+ * <pre>java -cp out;lib\gson-2.10.1.jar model.RunReplayer [runs.zrl ...]</pre>
+ * With no arguments the archive named by {@code -Dzombie.runLog} ({@link RunLog#archive()}) is replayed.
+ */
+public final class RunReplayer {
+    private static final int MAX_LISTED = 50;
+
+    /** Why one run came out differently, and at which move. */
+    public static final class Divergence {
+        private final int run;
+        private final RunRecord record;
+        private final int move;
+        private final String reason;
+
+        Divergence(int run, RunRecord record, int move, String reason) {
+            this.run = run;
+            this.record = record;
+            this.move = move;
+            this.reason = reason;
+        }
+
+        /** Position of the run in the replayed list. */
+        public int getRun() {
+            return run;
+        }
+
+        public RunRecord getRecord() {
+            return record;
+        }
+
+        /** Index of the move where the run diverged (the move count if it diverged at the end). */
+        public int getMove() {
+            return move;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return "run " + run + " (" + record.getStoryFilePath() + ", " + record.getPreset() + ") move " + move + ": " + reason;
+        }
+    }
+
+    /** Totals of one replay. */
+    public static final class Result {
+        private final int runs;
+        private final long steps;
+        private final long nanos;
+        private final List<Divergence> divergences;
+
+        Result(int runs, long steps, long nanos, List<Divergence> divergences) {
+            this.runs = runs;
+            this.steps = steps;
+            this.nanos = nanos;
+            this.divergences = divergences;
+        }
+
+        public int getRuns() {
+            return runs;
+        }
+
+        /** Moves re-executed (choices, food eaten and answers). */
+        public long getSteps() {
+            return steps;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public List<Divergence> getDivergences() {
+            return divergences;
+        }
+    }
+
+    private final Map<String, SceneLoader> stories = new ConcurrentHashMap<>();
+    private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+
+    private RunReplayer() { }
+
+    public static Result replay(List<RunRecord> records) {
+        return new RunReplayer().run(records);
+    }
+
+    private Result run(List<RunRecord> records) {
+        long started = System.nanoTime();
+        List<Divergence> divergences = IntStream.range(0, records.size()).parallel()
+            .mapToObj(i -> workers.get().replay(i, records.get(i)))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        long steps = 0;
+        for (RunRecord record : records) steps += record.getMoveCount();
+        return new Result(records.size(), steps, System.nanoTime() - started, divergences);
+    }
+
+    private SceneLoader story(String path) {
+        return stories.computeIfAbsent(path, StoryRepository::loadForBatch);
+    }
+
+    /** Per-thread engine input: a run state and the answers of the record being replayed. */
+    private final class Worker implements PlayerDecisions {
+        final RunState state = new RunState(new GameModel());
+        RunRecord record;
+        int next;
+        String problem;
+
+        Divergence replay(int index, RunRecord record) {
+            this.record = record;
+            this.next = 0;
+            this.problem = null;
+            GameModel model = state.getModel();
+            model.setHealth(record.getStartHealth());
+            GameEngine engine = new GameEngine(story(record.getStoryFilePath()), this);
+
+            StepOutcome outcome = engine.start(state, record.getPreset());
+            if (problem != null) return new Divergence(index, record, next, problem);
+            while (next < record.getMoveCount()) {
+                int at = next;
+                int move = record.move(next++);
+                int value = RunRecord.value(move);
+                switch (RunRecord.tag(move)) {
+                    case RunRecord.CHOICE -> {
+                        if (outcome.isFinal()) {
+                            return new Divergence(index, record, at, "run already ended (" + describe(outcome) + ")");
+                        }
+                        List<GameChoice> choices = outcome.getScene().getChoices();
+                        if (value >= choices.size()) {
+                            return new Divergence(index, record, at, "choice " + value + " no longer exists on scene "
+                                + outcome.getScene().getId() + " (" + choices.size() + " choices)");
+                        }
+                        outcome = engine.step(state, choices.get(value));
+                        if (problem != null) return new Divergence(index, record, at, problem);
+                    }
+                    case RunRecord.EAT -> {
+                        List<InventoryItem> food = model.getItems().get(ItemType.CONSUMABLE);
+                        if (value >= food.size()) {
+                            return new Divergence(index, record, at, "no food in slot " + value + " (" + food.size() + " carried)");
+                        }
+                        model.consumeItem(food.get(value));
+                    }
+                    case RunRecord.ANSWER -> {
+                        return new Divergence(index, record, at, "recorded answer " + value + " was not asked for");
+                    }
+                    default -> {
+                        return new Divergence(index, record, at, "unknown move " + move);
+                    }
+                }
+            }
+            if (!outcome.isFinal()) {
+                return new Divergence(index, record, next, "run did not end; now on " + describe(outcome));
+            }
+            String sceneId = outcome.getScene() != null ? outcome.getScene().getId() : null;
+            if (outcome.getKind() != record.getEndKind() || !Objects.equals(sceneId, record.getEndSceneId())) {
+                return new Divergence(index, record, next, "ended " + describe(outcome) + ", recorded "
+                    + record.getEndKind() + (record.getEndSceneId() != null ? " " + record.getEndSceneId() : ""));
+            }
+            if (model.getHealth() != record.getEndHealth()) {
+                return new Divergence(index, record, next, "ended with health " + model.getHealth() + ", recorded " + record.getEndHealth());
+            }
+            return null;
+        }
+
+        @Override
+        public boolean swapKeyItem(InventoryItem current, InventoryItem offered) {
+            int answer = answer(2, "swap " + current.getName() + " for " + offered.getName());
+            return answer == 1;
+        }
+
+        @Override
+        public InventoryItem weaponToDrop(List<InventoryItem> weapons, InventoryItem offered) {
+            int answer = answer(weapons.size() + 1, "weapon to drop for " + offered.getName());
+            return answer == 0 ? null : weapons.get(answer - 1);
+        }
+
+        // the next move must be an answer in [0, options); otherwise note the divergence and decline
+        private int answer(int options, String question) {
+            if (next < record.getMoveCount() && RunRecord.tag(record.move(next)) == RunRecord.ANSWER) {
+                int answer = RunRecord.value(record.move(next++));
+                if (answer < options) return answer;
+                if (problem == null) problem = "answer " + answer + " out of range for " + question;
+                return 0;
+            }
+            if (problem == null) problem = "asked \"" + question + "\" but no answer was recorded";
+            return 0;
+        }
+    }
+
+    private static String describe(StepOutcome outcome) {
+        return outcome.getKind() + (outcome.getScene() != null ? " " + outcome.getScene().getId() : "");
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<RunRecord> records = new ArrayList<>();
+        if (args.length == 0) {
+            Path archive = RunLog.archive();
+            if (archive == null) {
+                System.err.println("[ERROR] No run archive given; pass files or set -Dzombie.runLog=<file>.");
+                return;
+            }
+            records.addAll(RunLog.read(archive));
+        }
+        for (String arg : args) {
+            records.addAll(RunLog.read(Paths.get(arg)));
+        }
+
+        InventoryPresets.preload();
+        DebugLog.setEnabled(false);
+        Result result = replay(records);
+        double seconds = result.getNanos() / 1e9;
+        System.out.printf("Replayed %,d runs, %,d moves in %,.0f ms (%,.0f moves/s), %d cores%n",
+            result.getRuns(), result.getSteps(), seconds * 1000, seconds > 0 ? result.getSteps() / seconds : 0,
+            Runtime.getRuntime().availableProcessors());
+        List<Divergence> divergences = result.getDivergences();
+        System.out.printf("%,d diverged%n", divergences.size());
+        for (int i = 0; i < Math.min(MAX_LISTED, divergences.size()); i++) {
+            System.out.println("  " + divergences.get(i));
+        }
+        if (divergences.size() > MAX_LISTED) {
+            System.out.println("  ... and " + (divergences.size() - MAX_LISTED) + " more");
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable copy of a run's saveable state (the {@link GameModel} plus the
+ * controller's story, scene and processed-scene bookkeeping), taken on the FX thread
+ * and handed to {@link Autosaver}. Items are copied, so later changes to the live
+ * inventory don't leak into a snapshot waiting to be written.
+ */
+public final class RunSnapshot {
+    private final int slot;
+    private final long capturedAtNanos;
+    private final String playerName;
+    private final String storyFilePath;
+    private final String currentSceneId;
+    private final int health;
+    private final boolean darkMode;
+    private final List<String> addItemProcessedScenes;
+    private final String lastHealthAppliedSceneId;
+    private final Map<ItemType, List<InventoryItem>> inventory;
+
+    private RunSnapshot(int slot, GameModel model, String playerName, String storyFilePath,
+                        String currentSceneId, Collection<String> addItemProcessedScenes,
+                        String lastHealthAppliedSceneId) {
+        this.slot = slot;
+        this.capturedAtNanos = System.nanoTime();
+        this.playerName = playerName;
+        this.storyFilePath = storyFilePath;
+        this.currentSceneId = currentSceneId;
+        this.health = model.getHealth();
+        this.darkMode = model.isDarkMode();
+        this.addItemProcessedScenes = List.copyOf(addItemProcessedScenes);
+        this.lastHealthAppliedSceneId = lastHealthAppliedSceneId;
+        Map<ItemType, List<InventoryItem>> items = new EnumMap<>(ItemType.class);
+        model.getInventory().forEach((type, list) -> {
+            List<InventoryItem> copies = new ArrayList<>(list.size());
+            for (InventoryItem item : list) copies.add(item.copy());
+            items.put(type, Collections.unmodifiableList(copies));
+        });
+        this.inventory = Collections.unmodifiableMap(items);
+    }
+
+    public static RunSnapshot capture(int slot, GameModel model, String playerName, String storyFilePath,
+                                      String currentSceneId, Collection<String> addItemProcessedScenes,
+                                      String lastHealthAppliedSceneId) {
+        return new RunSnapshot(slot, model, playerName, storyFilePath, currentSceneId,
+            addItemProcessedScenes, lastHealthAppliedSceneId);
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public long getCapturedAtNanos() {
+        return capturedAtNanos;
+    }
+
+    public String getCurrentSceneId() {
+        return currentSceneId;
+    }
+
+    /** A fresh, mutable {@link SaveData} for this snapshot; completed endings are left empty. */
+    SaveData toSaveData() {
+        SaveData data = new SaveData();
+        data.playerName = playerName;
+        data.storyFilePath = storyFilePath;
+        data.currentSceneId = currentSceneId;
+        data.health = health;
+        data.darkMode = darkMode;
+        data.addItemProcessedScenes = new ArrayList<>(addItemProcessedScenes);
+        data.lastHealthAppliedSceneId = lastHealthAppliedSceneId;
+        inventory.forEach((type, list) -> {
+            List<InventoryItem> copies = new ArrayList<>(list.size());
+            for (InventoryItem item : list) copies.add(item.copy());
+            data.inventory.put(type, copies);
+        });
+        return data;
+    }
+}
@@ -0,0 +1,71 @@
+package model;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Everything a run carries between steps: the player ({@link GameModel}), the scene
+ * being shown, the scenes whose item was already picked up and the last scene whose
+ * health change was applied. {@link GameEngine} reads and updates it; it is not
+ * thread-safe, so each run (or simulation worker) has its own.
+ */
+public final class RunState {
+    private final GameModel model;
+    private final Set<String> addItemProcessedScenes = new HashSet<>();
+    private String lastHealthAppliedSceneId;
+    private GameScene scene;
+
+    public RunState(GameModel model) {
+        this.model = model;
+    }
+
+    public GameModel getModel() {
+        return model;
+    }
+
+    /** The scene the run is on, or null before the first scene. */
+    public GameScene getScene() {
+        return scene;
+    }
+
+    void setScene(GameScene scene) {
+        this.scene = scene;
+    }
+
+    /** Live set of scene ids whose item was picked up; saves copy it. */
+    public Set<String> getAddItemProcessedScenes() {
+        return addItemProcessedScenes;
+    }
+
+    public boolean isProcessed(String sceneId) {
+        return addItemProcessedScenes.contains(sceneId);
+    }
+
+    void markProcessed(String sceneId) {
+        addItemProcessedScenes.add(sceneId);
+    }
+
+    public String getLastHealthAppliedSceneId() {
+        return lastHealthAppliedSceneId;
+    }
+
+    void setLastHealthAppliedSceneId(String sceneId) {
+        this.lastHealthAppliedSceneId = sceneId;
+    }
+
+    /** Restores the per-run flags from a save. */
+    public void restore(Iterable<String> processedScenes, String lastHealthAppliedSceneId) {
+        addItemProcessedScenes.clear();
+        if (processedScenes != null) {
+            for (String id : processedScenes) addItemProcessedScenes.add(id);
+        }
+        this.lastHealthAppliedSceneId = lastHealthAppliedSceneId;
+    }
+
+    /** Forgets the per-run flags and the current scene, so pickups and health changes happen again. */
+    public void reset() {
+        addItemProcessedScenes.clear();
+        lastHealthAppliedSceneId = null;
+        scene = null;
+    }
+}
@@ -0,0 +1,264 @@
+package model;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Binary encoding of {@link SaveData}. A save starts with {@code MAGIC} and a format
+ * version. Every string (player name, story path, scene ids) is stored once in a
+ * string table and referenced by index. Completed endings are a bitset over that
+ * table. Each distinct item definition (name, type, health restore, power) is stored
+ * once and inventory slots reference it by id plus their own durability.
+ *
+ * <p>Older saves are read by the decoder for their version, then brought up to date by
+ * the steps in {@link #MIGRATIONS}. Version 0 is the original pretty-printed Gson
+ * JSON. To change the format, bump {@link #VERSION}, keep the old reader and add a
+ * migration step. {@link #toJson} exports any save as JSON for debugging; run
+ * {@code java model.SaveCodec <save file>} to print one.
+ */
+public final class SaveCodec {
+    static final int MAGIC = 0x5A534156; // "ZSAV"
+    static final int VERSION = 1;
+
+    private static final ItemType[] ITEM_TYPES = ItemType.values();
+    private static final Gson JSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private interface Migration {
+        SaveData apply(SaveData data);
+    }
+
+    // MIGRATIONS[v] upgrades a save decoded from version v to version v + 1
+    private static final Migration[] MIGRATIONS = {
+        // 0 -> 1: JSON saves can have null lists (hand-edited or very old files)
+        data -> {
+            if (data.addItemProcessedScenes == null) data.addItemProcessedScenes = new ArrayList<>();
+            if (data.completedWinSceneIds == null) data.completedWinSceneIds = new ArrayList<>();
+            if (data.inventory == null) data.inventory = new HashMap<>();
+            data.inventory.values().removeIf(Objects::isNull);
+            return data;
+        },
+    };
+
+    private SaveCodec() { }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: java model.SaveCodec <save file>");
+            return;
+        }
+        System.out.println(toJson(decode(Files.readAllBytes(Paths.get(args[0])))));
+    }
+
+    public static String toJson(SaveData data) {
+        return JSON.toJson(data);
+    }
+
+    static byte[] encode(SaveData data) {
+        Strings strings = new Strings();
+        // completed endings first, so reading the bitset in index order keeps their order
+        for (String id : data.completedWinSceneIds) strings.ref(id);
+        BitSet completed = new BitSet();
+        for (String id : data.completedWinSceneIds) completed.set(strings.ref(id) - 1);
+
+        Map<String, Integer> itemIds = new LinkedHashMap<>();
+        List<InventoryItem> itemDefs = new ArrayList<>();
+        for (ItemType type : ITEM_TYPES) {
+            List<InventoryItem> items = data.inventory.get(type);
+            if (items == null) continue;
+            for (InventoryItem item : items) {
+                String key = item.getName() + '\u0000' + item.getType() + '\u0000' + item.getHealthRestore() + '\u0000' + item.getPower();
+                if (!itemIds.containsKey(key)) {
+                    itemIds.put(key, itemDefs.size());
+                    itemDefs.add(item);
+                    strings.ref(item.getName());
+                }
+            }
+        }
+
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(body);
+            writeVar(out, strings.ref(data.playerName));
+            writeVar(out, strings.ref(data.storyFilePath));
+            writeVar(out, strings.ref(data.currentSceneId));
+            writeVar(out, strings.ref(data.lastHealthAppliedSceneId));
+            writeVar(out, data.health);
+            out.writeBoolean(data.darkMode);
+            out.writeLong(data.lastUpdatedEpochMillis);
+            writeVar(out, data.journalSeq);
+
+            writeVar(out, data.addItemProcessedScenes.size());
+            for (String id : data.addItemProcessedScenes) writeVar(out, strings.ref(id));
+
+            byte[] bits = completed.toByteArray();
+            writeVar(out, bits.length);
+            out.write(bits);
+
+            writeVar(out, itemDefs.size());
+            for (InventoryItem def : itemDefs) {
+                writeVar(out, strings.ref(def.getName()));
+                out.writeByte(def.getType().ordinal());
+                writeVar(out, def.getHealthRestore());
+                writeVar(out, def.getPower());
+            }
+
+            int typesPresent = 0;
+            for (ItemType type : ITEM_TYPES) if (data.inventory.get(type) != null) typesPresent++;
+            writeVar(out, typesPresent);
+            for (ItemType type : ITEM_TYPES) {
+                List<InventoryItem> items = data.inventory.get(type);
+                if (items == null) continue;
+                out.writeByte(type.ordinal());
+                writeVar(out, items.size());
+                for (InventoryItem item : items) {
+                    String key = item.getName() + '\u0000' + item.getType() + '\u0000' + item.getHealthRestore() + '\u0000' + item.getPower();
+                    writeVar(out, itemIds.get(key));
+                    writeVar(out, item.getDurability());
+                }
+            }
+
+            ByteArrayOutputStream file = new ByteArrayOutputStream(body.size() + 64);
+            DataOutputStream header = new DataOutputStream(file);
+            header.writeInt(MAGIC);
+            writeVar(header, VERSION);
+            writeVar(header, strings.values.size());
+            for (String s : strings.values) header.writeUTF(s);
+            body.writeTo(file);
+            return file.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("in-memory write failed", e); // ByteArrayOutputStream doesn't throw
+        }
+    }
+
+    static SaveData decode(byte[] bytes) throws IOException {
+        int version;
+        SaveData data;
+        if (bytes.length >= 4 && readMagic(bytes) == MAGIC) {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 4, bytes.length - 4));
+            version = (int) readVar(in);
+            if (version < 1 || version > VERSION) throw new IOException("Unsupported save version " + version);
+            data = decodeV1(in);
+        } else {
+            version = 0;
+            data = JSON.fromJson(new String(bytes, StandardCharsets.UTF_8), SaveData.class);
+            if (data == null) throw new IOException("Empty save");
+        }
+        for (int v = version; v < VERSION; v++) {
+            data = MIGRATIONS[v].apply(data);
+        }
+        return data;
+    }
+
+    private static SaveData decodeV1(DataInputStream in) throws IOException {
+        int stringCount = (int) readVar(in);
+        String[] strings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) strings[i] = in.readUTF();
+
+        SaveData data = new SaveData();
+        data.playerName = string(strings, readVar(in));
+        data.storyFilePath = string(strings, readVar(in));
+        data.currentSceneId = string(strings, readVar(in));
+        data.lastHealthAppliedSceneId = string(strings, readVar(in));
+        data.health = (int) readVar(in);
+        data.darkMode = in.readBoolean();
+        data.lastUpdatedEpochMillis = in.readLong();
+        data.journalSeq = readVar(in);
+
+        int processed = (int) readVar(in);
+        for (int i = 0; i < processed; i++) data.addItemProcessedScenes.add(string(strings, readVar(in)));
+
+        byte[] bits = new byte[(int) readVar(in)];
+        in.readFully(bits);
+        BitSet completed = BitSet.valueOf(bits);
+        for (int i = completed.nextSetBit(0); i >= 0; i = completed.nextSetBit(i + 1)) {
+            data.completedWinSceneIds.add(strings[i]);
+        }
+
+        int defCount = (int) readVar(in);
+        InventoryItem[] defs = new InventoryItem[defCount];
+        for (int i = 0; i < defCount; i++) {
+            String name = string(strings, readVar(in));
+            ItemType type = ITEM_TYPES[in.readUnsignedByte()];
+            int healthRestore = (int) readVar(in);
+            int power = (int) readVar(in);
+            defs[i] = new InventoryItem(name, type, healthRestore, 0, power);
+        }
+
+        int types = (int) readVar(in);
+        for (int t = 0; t < types; t++) {
+            ItemType type = ITEM_TYPES[in.readUnsignedByte()];
+            int count = (int) readVar(in);
+            List<InventoryItem> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                InventoryItem item = defs[(int) readVar(in)].copy();
+                item.setDurability((int) readVar(in));
+                items.add(item);
+            }
+            data.inventory.put(type, items);
+        }
+        return data;
+    }
+
+    private static int readMagic(byte[] b) {
+        return ((b[0] & 0xFF) << 24) | ((b[1] & 0xFF) << 16) | ((b[2] & 0xFF) << 8) | (b[3] & 0xFF);
+    }
+
+    private static String string(String[] strings, long ref) throws IOException {
+        if (ref == 0) return null;
+        if (ref > strings.length) throw new IOException("Bad string reference " + ref);
+        return strings[(int) ref - 1];
+    }
+
+    // Unsigned LEB128 with zig-zag, so small negatives (health can't be, but durability
+    // fields are plain ints) stay one byte.
+    static void writeVar(DataOutputStream out, long value) throws IOException {
+        long v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    static long readVar(DataInputStream in) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return (v >>> 1) ^ -(v & 1);
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    // 1-based references; 0 is null
+    private static final class Strings {
+        final List<String> values = new ArrayList<>();
+        final Map<String, Integer> refs = new HashMap<>();
+
+        int ref(String s) {
+            if (s == null) return 0;
+            Integer ref = refs.get(s);
+            if (ref == null) {
+                values.add(s);
+                ref = values.size();
+                refs.put(s, ref);
+            }
+            return ref;
+        }
+    }
+}
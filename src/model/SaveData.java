@@ -12,4 +12,7 @@ public class SaveData {
     public Map<ItemType, List<InventoryItem>> inventory = new HashMap<>();
     public long lastUpdatedEpochMillis;
     public List<String> completedWinSceneIds = new ArrayList<>();
+    // last journal record included in this snapshot (see SaveJournal); new fields
+    // must also be added to SaveJournal's diff/apply
+    public long journalSeq;
 }
\ No newline at end of file
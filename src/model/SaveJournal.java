@@ -0,0 +1,312 @@
+package model;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Per-slot journal behind {@link SaveManager}. Saving doesn't rewrite the slot's
+ * {@code slotN.sav}. The new state is compared with the last saved one, and the
+ * differences are appended to {@code slotN.journal} as one-line records (scene
+ * entered, health, item added/removed, durability, ...). Every
+ * {@code -Dzombie.save.snapshotEvery} records (default 64), a full snapshot is
+ * written and, once it is on disk, the journal is truncated behind it. Loading reads the snapshot and
+ * replays the records after its {@link SaveData#journalSeq}. A torn last line from
+ * a crash is ignored.
+ *
+ * <p>Record format: {@code seq TAB code TAB args...}, with {@code \t}, {@code \n}
+ * and {@code \\} escaped and {@code \0} for null.
+ */
+final class SaveJournal {
+    private static final int SNAPSHOT_EVERY = Integer.getInteger("zombie.save.snapshotEvery", 64);
+    private static final String NULL = "\\0";
+    private static final ItemType[] ITEM_TYPES = ItemType.values();
+
+    private static final class SlotState {
+        SaveData state; // last saved state (private copy), null when the slot is empty
+        long seq;
+        int sinceSnapshot;
+    }
+
+    private static final Map<Integer, SlotState> SLOTS = new HashMap<>();
+
+    private SaveJournal() { }
+
+    static Path journalFor(Path slotFile) {
+        String name = slotFile.getFileName().toString();
+        return slotFile.resolveSibling(name.substring(0, name.lastIndexOf('.')) + ".journal");
+    }
+
+    static synchronized CompletableFuture<Void> record(int slot, Path slotFile, SaveData data) {
+        SlotState st = state(slot, slotFile);
+        // a new game in the slot starts from a fresh snapshot
+        if (st.state == null || !Objects.equals(st.state.playerName, data.playerName)) {
+            return snapshot(slot, slotFile, st, copy(data));
+        }
+        List<String[]> events = diff(st.state, data);
+        if (events.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        StringBuilder out = new StringBuilder();
+        for (String[] event : events) {
+            apply(st.state, event);
+            out.append(++st.seq);
+            for (String field : event) out.append('\t').append(field);
+            out.append('\n');
+        }
+        st.sinceSnapshot += events.size();
+        CompletableFuture<Void> done = SaveWriter.append(journalFor(slotFile), out.toString().getBytes(StandardCharsets.UTF_8));
+        if (st.sinceSnapshot >= SNAPSHOT_EVERY) {
+            done = snapshot(slot, slotFile, st, st.state);
+        }
+        return done;
+    }
+
+    static synchronized Optional<SaveData> load(int slot, Path slotFile) {
+        SlotState st = state(slot, slotFile);
+        return st.state == null ? Optional.empty() : Optional.of(copy(st.state));
+    }
+
+    static synchronized boolean exists(int slot, Path slotFile) {
+        return state(slot, slotFile).state != null;
+    }
+
+    static synchronized CompletableFuture<Void> delete(int slot, Path slotFile) {
+        SLOTS.put(slot, new SlotState());
+        SaveWriter.delete(journalFor(slotFile));
+        return SaveWriter.delete(slotFile);
+    }
+
+    /** Full history of the slot since its last snapshot, for debugging. */
+    static synchronized List<String> journalLines(Path slotFile) throws IOException {
+        try {
+            return Files.readAllLines(journalFor(slotFile), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return new ArrayList<>();
+        }
+    }
+
+    private static CompletableFuture<Void> snapshot(int slot, Path slotFile, SlotState st, SaveData data) {
+        data.journalSeq = st.seq;
+        st.state = data;
+        st.sinceSnapshot = 0;
+        CompletableFuture<Void> written = SaveWriter.write(slotFile, SaveCodec.encode(data));
+        written.thenRunAsync(() -> SlotIndex.written(slot, slotFile));
+        // queued behind the snapshot and ahead of later appends; if the snapshot failed the
+        // journal is kept, so loading replays it onto the previous snapshot
+        return SaveWriter.truncateAfter(journalFor(slotFile), written);
+    }
+
+    private static SlotState state(int slot, Path slotFile) {
+        SlotState st = SLOTS.get(slot);
+        if (st != null) return st;
+        st = new SlotState();
+        st.state = SaveManager.readSlotFile(slot, slotFile).map(SaveJournal::copy).orElse(null);
+        if (st.state != null) {
+            st.seq = st.state.journalSeq;
+            replay(slotFile, st);
+        }
+        SLOTS.put(slot, st);
+        return st;
+    }
+
+    private static void replay(Path slotFile, SlotState st) {
+        Path journal = journalFor(slotFile);
+        if (!Files.exists(journal)) return;
+        try {
+            String content = new String(Files.readAllBytes(journal), StandardCharsets.UTF_8);
+            // only complete lines count; a crash can leave a partial last line
+            int end = content.lastIndexOf('\n');
+            if (end < 0) return;
+            for (String line : content.substring(0, end).split("\n")) {
+                if (line.isEmpty()) continue;
+                String[] parts = line.split("\t", -1);
+                long seq = Long.parseLong(parts[0]);
+                if (seq <= st.seq) continue;
+                apply(st.state, Arrays.copyOfRange(parts, 1, parts.length));
+                st.seq = seq;
+                st.sinceSnapshot++;
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[DEBUG] Stopped replaying save journal " + journal + " at seq " + st.seq + ": " + e);
+        }
+    }
+
+    // ---- diff and apply; every SaveData field except playerName and journalSeq is covered here
+
+    private static List<String[]> diff(SaveData a, SaveData b) {
+        List<String[]> out = new ArrayList<>();
+        if (!Objects.equals(a.storyFilePath, b.storyFilePath)) out.add(ev("T", b.storyFilePath));
+        if (!Objects.equals(a.currentSceneId, b.currentSceneId)) out.add(ev("S", b.currentSceneId));
+        if (a.health != b.health) out.add(ev("H", String.valueOf(b.health)));
+        if (a.darkMode != b.darkMode) out.add(ev("D", String.valueOf(b.darkMode)));
+        if (!Objects.equals(a.lastHealthAppliedSceneId, b.lastHealthAppliedSceneId)) out.add(ev("L", b.lastHealthAppliedSceneId));
+        diffList(a.addItemProcessedScenes, b.addItemProcessedScenes, "A", "X", out);
+        diffList(a.completedWinSceneIds, b.completedWinSceneIds, "W", "Y", out);
+        diffInventory(a.inventory, b.inventory, out);
+        if (a.lastUpdatedEpochMillis != b.lastUpdatedEpochMillis) out.add(ev("M", String.valueOf(b.lastUpdatedEpochMillis)));
+        return out;
+    }
+
+    private static void diffList(List<String> a, List<String> b, String add, String clear, List<String[]> out) {
+        List<String> from = a != null ? a : List.of();
+        List<String> to = b != null ? b : List.of();
+        boolean appended = to.size() >= from.size() && to.subList(0, from.size()).equals(from);
+        if (!appended) out.add(ev(clear));
+        for (int i = appended ? from.size() : 0; i < to.size(); i++) out.add(ev(add, to.get(i)));
+    }
+
+    private static void diffInventory(Map<ItemType, List<InventoryItem>> a, Map<ItemType, List<InventoryItem>> b, List<String[]> out) {
+        Map<ItemType, List<InventoryItem>> from = a != null ? a : Map.of();
+        Map<ItemType, List<InventoryItem>> to = b != null ? b : Map.of();
+        for (ItemType type : ITEM_TYPES) {
+            List<InventoryItem> x = from.get(type);
+            List<InventoryItem> y = to.get(type);
+            String t = type.name();
+            if (y == null) {
+                if (x != null) out.add(ev("Z", t));
+                continue;
+            }
+            if (x == null) {
+                out.add(ev("C", t));
+                for (InventoryItem item : y) out.add(add(item));
+                continue;
+            }
+            if (sameItems(x, 0, y, 0, x.size()) && y.size() >= x.size()) {
+                // durability changes, then anything appended
+                for (int i = 0; i < x.size(); i++) {
+                    if (x.get(i).getDurability() != y.get(i).getDurability()) {
+                        out.add(ev("U", t, String.valueOf(i), String.valueOf(y.get(i).getDurability())));
+                    }
+                }
+                for (int i = x.size(); i < y.size(); i++) out.add(add(y.get(i)));
+                continue;
+            }
+            int removed = removedIndex(x, y);
+            if (removed >= 0) {
+                out.add(ev("R", t, String.valueOf(removed)));
+                for (int i = 0; i < y.size(); i++) {
+                    InventoryItem before = x.get(i < removed ? i : i + 1);
+                    if (before.getDurability() != y.get(i).getDurability()) {
+                        out.add(ev("U", t, String.valueOf(i), String.valueOf(y.get(i).getDurability())));
+                    }
+                }
+                continue;
+            }
+            out.add(ev("C", t));
+            for (InventoryItem item : y) out.add(add(item));
+        }
+    }
+
+    // index of the one item removed from x to get y, or -1
+    private static int removedIndex(List<InventoryItem> x, List<InventoryItem> y) {
+        if (y.size() != x.size() - 1) return -1;
+        int k = 0;
+        while (k < y.size() && sameItem(x.get(k), y.get(k))) k++;
+        return sameItems(x, k + 1, y, k, y.size() - k) ? k : -1;
+    }
+
+    private static boolean sameItems(List<InventoryItem> x, int xFrom, List<InventoryItem> y, int yFrom, int count) {
+        if (xFrom + count > x.size() || yFrom + count > y.size()) return false;
+        for (int i = 0; i < count; i++) {
+            if (!sameItem(x.get(xFrom + i), y.get(yFrom + i))) return false;
+        }
+        return true;
+    }
+
+    // same item apart from durability, which is journaled separately
+    private static boolean sameItem(InventoryItem p, InventoryItem q) {
+        return p.getName().equals(q.getName()) && p.getType() == q.getType()
+            && p.getHealthRestore() == q.getHealthRestore() && p.getPower() == q.getPower();
+    }
+
+    private static String[] add(InventoryItem item) {
+        return ev("I", item.getType().name(), item.getName(), String.valueOf(item.getHealthRestore()),
+            String.valueOf(item.getDurability()), String.valueOf(item.getPower()));
+    }
+
+    private static String[] ev(String code, String... args) {
+        String[] event = new String[args.length + 1];
+        event[0] = code;
+        for (int i = 0; i < args.length; i++) event[i + 1] = escape(args[i]);
+        return event;
+    }
+
+    private static void apply(SaveData s, String[] e) {
+        switch (e[0]) {
+            case "T" -> s.storyFilePath = unescape(e[1]);
+            case "S" -> s.currentSceneId = unescape(e[1]);
+            case "H" -> s.health = Integer.parseInt(e[1]);
+            case "D" -> s.darkMode = Boolean.parseBoolean(e[1]);
+            case "L" -> s.lastHealthAppliedSceneId = unescape(e[1]);
+            case "M" -> s.lastUpdatedEpochMillis = Long.parseLong(e[1]);
+            case "A" -> s.addItemProcessedScenes.add(unescape(e[1]));
+            case "X" -> s.addItemProcessedScenes = new ArrayList<>();
+            case "W" -> s.completedWinSceneIds.add(unescape(e[1]));
+            case "Y" -> s.completedWinSceneIds = new ArrayList<>();
+            case "C" -> s.inventory.put(ItemType.valueOf(e[1]), new ArrayList<>());
+            case "Z" -> s.inventory.remove(ItemType.valueOf(e[1]));
+            case "I" -> s.inventory.computeIfAbsent(ItemType.valueOf(e[1]), k -> new ArrayList<>()).add(new InventoryItem(
+                unescape(e[2]), ItemType.valueOf(e[1]), Integer.parseInt(e[3]), Integer.parseInt(e[4]), Integer.parseInt(e[5])));
+            case "R" -> s.inventory.get(ItemType.valueOf(e[1])).remove(Integer.parseInt(e[2]));
+            case "U" -> s.inventory.get(ItemType.valueOf(e[1])).get(Integer.parseInt(e[2])).setDurability(Integer.parseInt(e[3]));
+            default -> throw new IllegalArgumentException("unknown journal record " + e[0]);
+        }
+    }
+
+
+    private static String escape(String value) {
+        if (value == null) return NULL;
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n");
+    }
+
+    private static String unescape(String field) {
+        if (NULL.equals(field)) return null;
+        StringBuilder out = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '\\' && i + 1 < field.length()) {
+                char n = field.charAt(++i);
+                out.append(n == 't' ? '\t' : n == 'n' ? '\n' : n);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    // deep copy with no null collections, so apply() can use them directly
+    private static SaveData copy(SaveData data) {
+        SaveData c = new SaveData();
+        c.playerName = data.playerName;
+        c.storyFilePath = data.storyFilePath;
+        c.currentSceneId = data.currentSceneId;
+        c.health = data.health;
+        c.darkMode = data.darkMode;
+        if (data.addItemProcessedScenes != null) c.addItemProcessedScenes.addAll(data.addItemProcessedScenes);
+        c.lastHealthAppliedSceneId = data.lastHealthAppliedSceneId;
+        if (data.inventory != null) {
+            data.inventory.forEach((type, items) -> {
+                if (type == null || items == null) return;
+                List<InventoryItem> copies = new ArrayList<>(items.size());
+                for (InventoryItem item : items) {
+                    if (item != null) copies.add(item.copy());
+                }
+                c.inventory.put(type, copies);
+            });
+        }
+        c.lastUpdatedEpochMillis = data.lastUpdatedEpochMillis;
+        if (data.completedWinSceneIds != null) c.completedWinSceneIds.addAll(data.completedWinSceneIds);
+        c.journalSeq = data.journalSeq;
+        return c;
+    }
+}
@@ -1,29 +1,55 @@
 package model;
 
-import com.google.gson.*;
-import com.google.gson.reflect.TypeToken;
-
 import java.io.*;
-import java.lang.reflect.Type;
 import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 public class SaveManager {
-    private static final Gson GSON = new GsonBuilder()
-            .enableComplexMapKeySerialization()
-            .setPrettyPrinting()
-            .create();
-
-    private static final Path SAVE_DIR = Paths.get("src", "data", "saves");
+    static final Path SAVE_DIR = Paths.get("src", "data", "saves");
+    private static volatile boolean dirReady;
+    private static final Set<Integer> legacyChecked = new HashSet<>();
 
     private static Path pathForSlot(int slot) {
-        if (slot < 1 || slot > 3) throw new IllegalArgumentException("slot must be 1..3");
+        if (slot < 1) throw new IllegalArgumentException("slot must be >= 1");
+        return SAVE_DIR.resolve("slot" + slot + ".sav");
+    }
+
+    // JSON save written before the binary format (see SaveCodec)
+    private static Path legacyPathForSlot(int slot) {
         return SAVE_DIR.resolve("slot" + slot + ".json");
     }
 
+    private static Path slotFile(int slot) {
+        Path p = pathForSlot(slot);
+        synchronized (legacyChecked) {
+            if (legacyChecked.add(slot)) migrateLegacy(slot, p);
+        }
+        return p;
+    }
+
+    // Converts slotN.json to slotN.sav once; the JSON file is left in place until the slot is deleted.
+    private static void migrateLegacy(int slot, Path p) {
+        Path legacy = legacyPathForSlot(slot);
+        if (SaveWriter.pending(p) != null || Files.exists(p) || !Files.exists(legacy)) return;
+        try {
+            SaveData data = SaveCodec.decode(Files.readAllBytes(legacy));
+            SaveWriter.writeAtomically(p, SaveCodec.encode(data));
+            System.out.println("[DEBUG] Migrated " + legacy + " to " + p);
+        } catch (Exception e) {
+            System.err.println("[DEBUG] Failed to migrate save (slot " + slot + "): " + e);
+        }
+    }
+
     public static void ensureDir() {
+        if (dirReady) return;
         try {
             Files.createDirectories(SAVE_DIR);
+            dirReady = true;
         } catch (IOException e) {
             System.err.println("[DEBUG] Failed to ensure save dir: " + e);
         }
@@ -31,37 +57,64 @@ public class SaveManager {
 
     public static boolean exists(int slot) {
         ensureDir();
-        return Files.exists(pathForSlot(slot));
+        return SaveJournal.exists(slot, slotFile(slot));
     }
 
-    public static void delete(int slot) {
+    public static CompletableFuture<Void> delete(int slot) {
         ensureDir();
-        try {
-            Files.deleteIfExists(pathForSlot(slot));
-        } catch (IOException e) {
-            System.err.println("[DEBUG] Failed to delete save (slot " + slot + "): " + e);
-        }
+        CompletableFuture<Void> done = SaveJournal.delete(slot, slotFile(slot));
+        SaveWriter.delete(legacyPathForSlot(slot));
+        SlotIndex.remove(slot);
+        return done;
     }
 
-    public static void save(int slot, SaveData data) {
+    /**
+     * Records {@code data} as the slot's new state and queues the write in the
+     * background; the future completes once it is on disk. Only the changes since the
+     * last save are appended to the slot's journal (see {@link SaveJournal}). Later
+     * changes to {@code data} are not saved, and {@link #load} sees the new save right away.
+     */
+    public static CompletableFuture<Void> save(int slot, SaveData data) {
         ensureDir();
-        Path p = pathForSlot(slot);
-        try (Writer w = Files.newBufferedWriter(p)) {
-            GSON.toJson(data, w);
+        try {
+            data.lastUpdatedEpochMillis = System.currentTimeMillis();
+            CompletableFuture<Void> done = SaveJournal.record(slot, slotFile(slot), data);
+            SlotIndex.update(slot, data);
+            return done;
         } catch (Exception e) {
             System.err.println("[DEBUG] Failed to save game (slot " + slot + "): " + e);
             e.printStackTrace();
+            return CompletableFuture.failedFuture(e);
         }
     }
 
     public static Optional<SaveData> load(int slot) {
         ensureDir();
-        Path p = pathForSlot(slot);
-        if (!Files.exists(p)) return Optional.empty();
-        try (Reader r = Files.newBufferedReader(p)) {
-            Type t = new TypeToken<SaveData>(){}.getType();
-            SaveData data = GSON.fromJson(r, t);
-            return Optional.ofNullable(data);
+        return SaveJournal.load(slot, slotFile(slot));
+    }
+
+    /** The slot's journal records since its last snapshot, oldest first (for debugging). */
+    public static List<String> journal(int slot) {
+        try {
+            return SaveJournal.journalLines(pathForSlot(slot));
+        } catch (IOException e) {
+            System.err.println("[DEBUG] Failed to read save journal (slot " + slot + "): " + e);
+            return new ArrayList<>();
+        }
+    }
+
+    /** The slot's current state as pretty-printed JSON, for debugging; saves themselves are binary. */
+    public static Optional<String> exportJson(int slot) {
+        return load(slot).map(SaveCodec::toJson);
+    }
+
+    // Reads the snapshot only; load() also replays the journal.
+    static Optional<SaveData> readSlotFile(int slot, Path p) {
+        byte[] pending = SaveWriter.pending(p);
+        if (pending == SaveWriter.DELETED) return Optional.empty();
+        if (pending == null && !Files.exists(p)) return Optional.empty();
+        try {
+            return Optional.of(SaveCodec.decode(pending != null ? pending : Files.readAllBytes(p)));
         } catch (Exception e) {
             System.err.println("[DEBUG] Failed to load save (slot " + slot + "): " + e);
             e.printStackTrace();
@@ -69,11 +122,44 @@ public class SaveManager {
         }
     }
 
+    /** Player name, scene, story, last played and completed endings, read from the slot index. */
+    public static Optional<SlotSummary> summary(int slot) {
+        ensureDir();
+        return SlotIndex.get(slot, slotFile(slot));
+    }
+
+    /**
+     * One page of saved slots, most recently played first, read from the slot index
+     * only. Page numbers start at 0; an empty list means past the last page.
+     */
+    public static List<SlotSummary> listSlots(int page, int pageSize) {
+        if (page < 0 || pageSize < 1) throw new IllegalArgumentException("bad page " + page + "/" + pageSize);
+        ensureDir();
+        return SlotIndex.page(page, pageSize);
+    }
+
+    public static int slotCount() {
+        ensureDir();
+        return SlotIndex.size();
+    }
+
+    /** The most recently played slot of the player with this name (case-insensitive). */
+    public static Optional<SlotSummary> findByPlayerName(String playerName) {
+        ensureDir();
+        return SlotIndex.byPlayerName(playerName);
+    }
+
+    /** A slot number no save uses yet. */
+    public static int nextFreeSlot() {
+        ensureDir();
+        return SlotIndex.maxSlot() + 1;
+    }
+
     public static Optional<String> peekPlayerName(int slot) {
-        return load(slot).map(d -> d.playerName);
+        return summary(slot).map(s -> s.playerName);
     }
 
     public static Optional<String> peekSceneId(int slot) {
-        return load(slot).map(d -> d.currentSceneId);
+        return summary(slot).map(s -> s.currentSceneId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,196 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind file writer used by {@link SaveManager}. All writes happen on one
+ * background thread. A write requested while an earlier one for the same file is
+ * still queued replaces it, and both callers get the same future. Each file is written
+ * to a temp file, forced to disk and atomically moved over the target, so a crash
+ * leaves either the old or the new file, never a truncated one.
+ *
+ * <p>{@link #append} and {@link #truncate} are never coalesced; they run in the order
+ * they were requested, after any write queued before them.
+ */
+final class SaveWriter {
+    private static final class Pending {
+        byte[] bytes; // null = delete
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Pending(byte[] bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    static final byte[] DELETED = new byte[0];
+
+    // queued writes, and the one being written, by target; guarded by SaveWriter.class
+    private static final Map<Path, Pending> QUEUED = new HashMap<>();
+    private static final Map<Path, Pending> WRITING = new HashMap<>();
+
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "save-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    static {
+        // the writer is a daemon so it never keeps the app alive; finish queued saves on exit
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(5, TimeUnit.SECONDS), "save-writer-flush"));
+    }
+
+    private SaveWriter() { }
+
+    static CompletableFuture<Void> write(Path target, byte[] bytes) {
+        return submit(target, bytes);
+    }
+
+    static CompletableFuture<Void> delete(Path target) {
+        return submit(target, null);
+    }
+
+    static CompletableFuture<Void> append(Path target, byte[] bytes) {
+        return inOrder(target, () -> {
+            try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+        });
+    }
+
+    static CompletableFuture<Void> truncate(Path target) {
+        return inOrder(target, () -> {
+            if (Files.exists(target)) writeAtomically(target, new byte[0]);
+        });
+    }
+
+    /**
+     * Truncates {@code target} in order, like {@link #truncate}, but only if {@code written}
+     * succeeded; otherwise the file is left alone and the returned future fails. Meant
+     * for a {@code written} that was queued before this call, so it has finished by then.
+     */
+    static CompletableFuture<Void> truncateAfter(Path target, CompletableFuture<Void> written) {
+        return inOrder(target, () -> {
+            if (!written.isDone() || written.isCompletedExceptionally()) {
+                throw new IOException("not truncated, the write it depends on did not complete");
+            }
+            if (Files.exists(target)) writeAtomically(target, new byte[0]);
+        });
+    }
+
+    interface FileOp {
+        void run() throws IOException;
+    }
+
+    /** Runs {@code op} on the writer thread, in order with the other appends and truncates. */
+    static CompletableFuture<Void> inOrder(Path target, FileOp op) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        WRITER.execute(() -> {
+            try {
+                op.run();
+                done.complete(null);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("[ERROR] Failed to write " + target + ": " + e);
+                done.completeExceptionally(e);
+            }
+        });
+        return done;
+    }
+
+    private static synchronized CompletableFuture<Void> submit(Path target, byte[] bytes) {
+        Pending queued = QUEUED.get(target);
+        if (queued != null) {
+            queued.bytes = bytes;
+            return queued.done;
+        }
+        Pending p = new Pending(bytes);
+        QUEUED.put(target, p);
+        WRITER.execute(() -> drain(target));
+        return p.done;
+    }
+
+    /**
+     * The latest content requested for {@code target} that may not be on disk yet, so
+     * readers see their own writes: null if nothing is pending, {@link #DELETED} if a
+     * delete is pending.
+     */
+    static synchronized byte[] pending(Path target) {
+        Pending p = QUEUED.get(target);
+        if (p == null) p = WRITING.get(target);
+        if (p == null) return null;
+        return p.bytes != null ? p.bytes : DELETED;
+    }
+
+    private static void drain(Path target) {
+        Pending p;
+        synchronized (SaveWriter.class) {
+            p = QUEUED.remove(target);
+            if (p == null) return;
+            WRITING.put(target, p);
+        }
+        Exception failure = null;
+        try {
+            if (p.bytes == null) {
+                Files.deleteIfExists(target);
+            } else {
+                writeAtomically(target, p.bytes);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[ERROR] Failed to write " + target + ": " + e);
+            failure = e;
+        }
+        // no longer pending once callbacks run, so they read the file itself
+        synchronized (SaveWriter.class) {
+            WRITING.remove(target, p);
+        }
+        if (failure == null) {
+            p.done.complete(null);
+        } else {
+            p.done.completeExceptionally(failure);
+        }
+    }
+
+    static void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /** Waits until everything queued so far is on disk, or the timeout passes. */
+    static void flush(long timeout, TimeUnit unit) {
+        // the writer is FIFO, so once this marker runs everything queued before it is done
+        try {
+            WRITER.submit(() -> { }).get(timeout, unit);
+        } catch (Exception e) {
+            System.err.println("[ERROR] Saves still pending after flush: " + e);
+        }
+    }
+}
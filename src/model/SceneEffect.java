@@ -0,0 +1,9 @@
+package model;
+
+/**
+ * A scene-level side effect (e.g. using up the Antidote), compiled once from the story
+ * file by {@link SceneEffects} and applied every time the scene is shown.
+ */
+public interface SceneEffect {
+    void apply(GameModel model);
+}
@@ -0,0 +1,92 @@
+package model;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry that turns scene JSON flags into {@link SceneEffect}s at load time.
+ * Effects run in registration order. New effect kinds are added with
+ * {@link #register(String, Compiler)} before stories are loaded.
+ */
+public final class SceneEffects {
+    public static final SceneEffect[] NONE = new SceneEffect[0];
+
+    /** Compiles the value of one scene key; returns null when the value means "no effect". */
+    public interface Compiler {
+        SceneEffect compile(JsonElement value);
+    }
+
+    private static final Map<String, Compiler> COMPILERS = new LinkedHashMap<>();
+
+    static {
+        register("useAntidote", value ->
+            value.getAsBoolean() ? new DecrementKeyItemDurability("Antidote", 1, true, "useAntidote") : null);
+        register("decrementKeyItemDurability", value -> {
+            if (!value.isJsonObject()) return null;
+            JsonObject dk = value.getAsJsonObject();
+            if (!dk.has("name")) return null;
+            int amount = dk.has("amount") ? dk.get("amount").getAsInt() : 1;
+            boolean removeOnZero = !dk.has("removeOnZero") || dk.get("removeOnZero").getAsBoolean();
+            return new DecrementKeyItemDurability(dk.get("name").getAsString(), amount, removeOnZero, "decrementKeyItemDurability");
+        });
+    }
+
+    private SceneEffects() { }
+
+    public static synchronized void register(String key, Compiler compiler) {
+        COMPILERS.put(key, compiler);
+    }
+
+    public static synchronized boolean isEffectKey(String key) {
+        return COMPILERS.containsKey(key);
+    }
+
+    /** Compiles every registered key present on the scene. Malformed values are reported and skipped. */
+    public static synchronized SceneEffect[] compile(String sceneId, JsonObject sceneJson) {
+        if (sceneJson == null) return NONE;
+        List<SceneEffect> effects = null;
+        for (Map.Entry<String, Compiler> entry : COMPILERS.entrySet()) {
+            JsonElement value = sceneJson.get(entry.getKey());
+            if (value == null || value.isJsonNull()) continue;
+            try {
+                SceneEffect effect = entry.getValue().compile(value);
+                if (effect != null) {
+                    if (effects == null) effects = new ArrayList<>(2);
+                    effects.add(effect);
+                }
+            } catch (RuntimeException ex) {
+                System.err.println("[ERROR] Invalid " + entry.getKey() + " on scene " + sceneId + ": " + ex.getMessage());
+            }
+        }
+        return effects == null ? NONE : effects.toArray(new SceneEffect[0]);
+    }
+
+    static final class DecrementKeyItemDurability implements SceneEffect {
+        private final String itemName;
+        private final int amount;
+        private final boolean removeOnZero;
+        private final String flag;
+
+        DecrementKeyItemDurability(String itemName, int amount, boolean removeOnZero, String flag) {
+            this.itemName = itemName;
+            this.amount = amount;
+            this.removeOnZero = removeOnZero;
+            this.flag = flag;
+        }
+
+        @Override
+        public void apply(GameModel model) {
+            boolean ok = model.decrementKeyItemDurabilityByName(itemName, amount, removeOnZero);
+            if (DebugLog.isEnabled()) System.out.println("[DEBUG] " + flag + " processed for " + itemName + ", decremented: " + ok);
+        }
+
+        @Override
+        public String toString() {
+            return flag + "(" + itemName + ", " + amount + ", removeOnZero=" + removeOnZero + ")";
+        }
+    }
+}
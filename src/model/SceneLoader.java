@@ -3,14 +3,139 @@ package model;
 import com.google.gson.*;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.util.*;
 
 public class SceneLoader {
-    private final Map<String, GameScene> sceneMap = new HashMap<>();
+    /**
+     * TREE builds a Gson DOM of the whole story before building scenes.
+     * STREAMING reads scene by scene, so only one scene is in memory at a time.
+     */
+    public enum ParseMode { TREE, STREAMING }
+
+    public static final int NO_SCENE = -1;
+    /** Fight win target of a scene without a fight number: the fight choice's own target. */
+    public static final int CHOICE_TARGET = -2;
+    public static final String INFECTION_CHOICE_ID = "infection_choice";
+    public static final String GAME_OVER_INFECTION_ID = "game_over_infection";
+
+    private final Map<String, GameScene> sceneMap = new LinkedHashMap<>();
+    private final Map<String, GameScene> sceneView = Collections.unmodifiableMap(sceneMap);
+    private final Map<String, Integer> indexById = new HashMap<>();
+    private GameScene[] scenesByIndex = new GameScene[0];
+    private int infectionChoiceIndex = NO_SCENE;
+    private int gameOverInfectionIndex = NO_SCENE;
 
     public SceneLoader(String pathToJson) {
+        this(pathToJson, ParseMode.STREAMING);
+    }
+
+    // Used by StoryCompiler, which also needs each scene's effect flags as JSON text.
+    SceneLoader(String pathToJson, Map<String, String> effectJsonById) {
+        try (FileReader reader = new FileReader(pathToJson)) {
+            StreamingSceneParser.parse(reader, (scene, extensions) -> {
+                sceneMap.put(scene.getId(), scene);
+                if (extensions != null) effectJsonById.put(scene.getId(), extensions.toString());
+            });
+        } catch (IOException e) {
+            System.err.println("Failed to load scenes: " + e.getMessage());
+        }
+        link();
+    }
+
+    // For loaders that don't parse JSON (see BinarySceneLoader).
+    protected SceneLoader() {
+    }
+
+    public SceneLoader(String pathToJson, ParseMode mode) {
         try (FileReader reader = new FileReader(pathToJson)) {
-            JsonArray sceneArray = JsonParser.parseReader(reader).getAsJsonArray();
+            parse(reader, mode);
+        } catch (IOException e) {
+            System.err.println("Failed to load scenes: " + e.getMessage());
+        }
+    }
+
+    SceneLoader(String sourceName, Reader reader, ParseMode mode) {
+        try {
+            parse(reader, mode);
+        } catch (IOException e) {
+            System.err.println("Failed to load scenes from " + sourceName + ": " + e.getMessage());
+        }
+    }
+
+    private void parse(Reader reader, ParseMode mode) throws IOException {
+        if (mode == ParseMode.STREAMING) {
+            parseStreaming(reader);
+        } else {
+            parseTree(reader);
+        }
+        link();
+    }
+
+    /**
+     * Gives every scene a dense index and resolves choice targets, fight win/lose
+     * scenes and the infection redirects to indexes, so transitions don't need
+     * id lookups. Dangling ids are reported once here.
+     */
+    private void link() {
+        scenesByIndex = sceneMap.values().toArray(new GameScene[0]);
+        for (int i = 0; i < scenesByIndex.length; i++) {
+            scenesByIndex[i].setIndex(i);
+            indexById.put(scenesByIndex[i].getId(), i);
+        }
+
+        List<String> dangling = new ArrayList<>();
+        boolean anyBitten = false;
+        for (GameScene scene : scenesByIndex) {
+            for (GameChoice choice : scene.getChoices()) {
+                int target = indexOf(choice.getNextId());
+                choice.setNextSceneIndex(target);
+                if (target == NO_SCENE) dangling.add(scene.getId() + " -> " + choice.getNextId());
+            }
+            if (scene.getThreatLevel() > -1) {
+                String winId = fightWinSceneId(scene.getFightNumber());
+                String loseId = fightLoseSceneId(scene.getFightNumber());
+                // a missing fight_result_win_N stays NO_SCENE, so the fight goes nowhere
+                scene.setFightTargets(winId != null ? indexOf(winId) : CHOICE_TARGET, indexOf(loseId));
+                if (winId != null && indexOf(winId) == NO_SCENE) dangling.add(scene.getId() + " (fight win) -> " + winId);
+                if (indexOf(loseId) == NO_SCENE) dangling.add(scene.getId() + " (fight lose) -> " + loseId);
+            }
+            anyBitten |= scene.isBitten();
+        }
+
+        infectionChoiceIndex = indexOf(INFECTION_CHOICE_ID);
+        gameOverInfectionIndex = indexOf(GAME_OVER_INFECTION_ID);
+        if (anyBitten && infectionChoiceIndex == NO_SCENE) dangling.add("(bitten) -> " + INFECTION_CHOICE_ID);
+        if (anyBitten && gameOverInfectionIndex == NO_SCENE) dangling.add("(bitten) -> " + GAME_OVER_INFECTION_ID);
+
+        if (!dangling.isEmpty()) {
+            System.out.println("[DEBUG] SceneLoader: " + dangling.size() + " dangling scene references: " + dangling);
+        }
+    }
+
+    /** Win scene for a numbered fight, or null when the fight choice's own target is used. */
+    static String fightWinSceneId(int fightNumber) {
+        return fightNumber > 0 ? "fight_result_win_" + fightNumber : null;
+    }
+
+    static String fightLoseSceneId(int fightNumber) {
+        return fightNumber > 0 ? "fight_result_lose_" + fightNumber : "fight_result_lose_1";
+    }
+
+    private void parseStreaming(Reader reader) throws IOException {
+        try {
+            int skipped = StreamingSceneParser.parse(reader, (scene, extensions) -> sceneMap.put(scene.getId(), scene));
+            System.out.println("SceneLoader: Streamed " + sceneMap.size() + " scenes" + (skipped > 0 ? " (" + skipped + " skipped)." : "."));
+        } catch (com.google.gson.stream.MalformedJsonException | IllegalStateException e) {
+            System.err.println("Invalid JSON syntax after " + sceneMap.size() + " scenes: " + e.getMessage());
+        }
+    }
+
+    private void parseTree(Reader reader) throws IOException {
+        try {
+            JsonElement root = JsonParser.parseReader(reader);
+            if (!root.isJsonArray()) return;
+            JsonArray sceneArray = root.getAsJsonArray();
             for (JsonElement sceneElem : sceneArray) {
                 try {
                     JsonObject sceneObj = sceneElem.getAsJsonObject();
@@ -50,9 +175,9 @@ public class SceneLoader {
 
                     GameScene scene;
                     if (addItem != null) {
-                        scene = new GameScene(sceneId, prompt, healthChange, choices, addItem);
+                        scene = new GameScene(sceneId, prompt, healthChange, Collections.unmodifiableList(choices), addItem);
                     } else {
-                        scene = new GameScene(sceneId, prompt, healthChange, choices);
+                        scene = new GameScene(sceneId, prompt, healthChange, Collections.unmodifiableList(choices));
                     }
 
                     scene.setImagePath(imagePath);
@@ -67,8 +192,7 @@ public class SceneLoader {
 
                     sceneMap.put(sceneId, scene);
 
-                    // NEW: store raw JSON so scene logic can read custom flags like decrementKeyItemDurability/useAntidote
-                    scene.setRawJson(sceneObj);
+                    scene.setEffects(SceneEffects.compile(sceneId, sceneObj));
                 } catch (Exception ex) {
                     System.err.println("[ERROR] Failed to parse scene: " + sceneElem);
                     ex.printStackTrace();
@@ -76,8 +200,8 @@ public class SceneLoader {
             }
             System.out.println("SceneLoader: Loaded " + sceneMap.size() + " scenes.");
             System.out.println("[DEBUG] Scene IDs loaded: " + sceneMap.keySet());
-        } catch (IOException e) {
-            System.err.println("Failed to load scenes: " + e.getMessage());
+        } catch (JsonIOException e) {
+            throw new IOException(e.getMessage(), e);
         } catch (JsonSyntaxException e) {
             System.err.println("Invalid JSON syntax: " + e.getMessage());
         }
@@ -87,8 +211,33 @@ public class SceneLoader {
         return sceneMap.get(id); 
     }
 
+    public boolean hasScene(String id) {
+        return sceneMap.containsKey(id);
+    }
+
+    public int indexOf(String id) {
+        Integer index = id != null ? indexById.get(id) : null;
+        return index != null ? index : NO_SCENE;
+    }
+
+    public GameScene getSceneByIndex(int index) {
+        return index >= 0 && index < scenesByIndex.length ? scenesByIndex[index] : null;
+    }
+
+    public int getSceneCount() {
+        return scenesByIndex.length;
+    }
+
+    public int getInfectionChoiceIndex() {
+        return infectionChoiceIndex;
+    }
+
+    public int getGameOverInfectionIndex() {
+        return gameOverInfectionIndex;
+    }
+
     public Map<String, GameScene> getScenes() {
-        return sceneMap;
+        return sceneView;
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,327 @@
+package model;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Monte Carlo balance report. Plays many headless runs of each story with each
+ * inventory preset through {@link GameEngine}, spread over all cores with a parallel
+ * stream, and prints the win rate, the ending distribution, the mean health at death
+ * and how often weapons break.
+ *
+ * <pre>java -cp out;lib\gson-2.10.1.jar model.Simulator [runs] [random|fight|avoid-fights] [seed] [story.json ...]</pre>
+ * Defaults: 1,000,000 runs per story and preset, the random policy, seed 1 and both
+ * stories. The same seed gives the same report on any number of cores.
+ */
+public final class Simulator {
+    public static final String[] STORIES = { "src/data/drive_story1.json", "src/data/walk_story2.json" };
+    public static final String[] PRESETS = { InventoryPresets.HEALTH_HEAVY, InventoryPresets.ATTACK_HEAVY, InventoryPresets.BALANCED };
+
+    // Runs that loop longer than this are cut off and counted apart.
+    static final int MAX_STEPS = 500;
+    private static final int RUNS_PER_SHARD = 2048;
+
+    /** Picks the choice to take on a scene. Shared by every worker, so it must not keep state. */
+    public interface Policy {
+        int choose(GameScene scene, RunState state, SplittableRandom random);
+
+        /** Whether to eat {@code food} before choosing; by default only when none of it is wasted. */
+        default boolean eat(RunState state, InventoryItem food) {
+            return state.getModel().getHealth() + food.getHealthRestore() <= 100;
+        }
+    }
+
+    public enum Policies implements Policy {
+        /** Any choice, uniformly. */
+        RANDOM {
+            @Override
+            public int choose(GameScene scene, RunState state, SplittableRandom random) {
+                return random.nextInt(scene.getChoices().size());
+            }
+        },
+        /** A fight whenever one is offered, otherwise any choice. */
+        FIGHT {
+            @Override
+            public int choose(GameScene scene, RunState state, SplittableRandom random) {
+                return pick(scene, random, true);
+            }
+        },
+        /** Anything but a fight, unless fighting is the only way on. */
+        AVOID_FIGHTS {
+            @Override
+            public int choose(GameScene scene, RunState state, SplittableRandom random) {
+                return pick(scene, random, false);
+            }
+        };
+
+        public static Policies named(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+
+        // a random choice among those that are (or aren't) fights, or any choice if there is none
+        private static int pick(GameScene scene, SplittableRandom random, boolean fight) {
+            List<GameChoice> choices = scene.getChoices();
+            int matching = 0;
+            for (GameChoice choice : choices) {
+                if (GameEngine.isFight(scene, choice) == fight) matching++;
+            }
+            if (matching == 0) return random.nextInt(choices.size());
+            int n = random.nextInt(matching);
+            for (int i = 0; i < choices.size(); i++) {
+                if (GameEngine.isFight(scene, choices.get(i)) == fight && n-- == 0) return i;
+            }
+            throw new IllegalStateException();
+        }
+    }
+
+    /** Takes every item offered: swaps key items and drops the weakest weapon. */
+    static final PlayerDecisions TAKE_NEW = new PlayerDecisions() {
+        @Override
+        public boolean swapKeyItem(InventoryItem current, InventoryItem offered) {
+            return true;
+        }
+
+        @Override
+        public InventoryItem weaponToDrop(List<InventoryItem> weapons, InventoryItem offered) {
+            InventoryItem weakest = null;
+            for (InventoryItem weapon : weapons) {
+                if (weakest == null || weapon.getPower() < weakest.getPower()) weakest = weapon;
+            }
+            return weakest;
+        }
+    };
+
+    /** Totals for one story and preset. Each shard fills its own, then they are merged. */
+    public static final class Stats {
+        long runs;
+        long wins;
+        long deaths;
+        long deadEnds;
+        long stuck;
+        long cutoffs;
+        long steps;
+        long healthAtDeath;
+        long fights;
+        long fightsLost;
+        long armedFights;
+        long weaponBreaks;
+        final long[] deathsAtStep = new long[MAX_STEPS + 1];
+        final Map<String, long[]> endings = new HashMap<>();
+
+        public long getRuns() { return runs; }
+        public long getWins() { return wins; }
+        public long getDeaths() { return deaths; }
+        public long getWeaponBreaks() { return weaponBreaks; }
+
+        public double winRate() {
+            return ratio(wins, runs);
+        }
+
+        /** Mean health going into the choice that killed the player. */
+        public double meanHealthAtDeath() {
+            return ratio(healthAtDeath, deaths);
+        }
+
+        /** Share of armed fights that broke the weapon. */
+        public double weaponBreakRate() {
+            return ratio(weaponBreaks, armedFights);
+        }
+
+        /**
+         * Survival curve: element {@code k} is the share of runs still alive after {@code k}
+         * choices, for {@code k} from 0 to {@code horizon}. Runs that won or stopped early
+         * count as alive from then on.
+         */
+        public double[] survival(int horizon) {
+            double[] curve = new double[horizon + 1];
+            long dead = 0;
+            for (int k = 0; k <= horizon; k++) {
+                if (k < deathsAtStep.length) dead += deathsAtStep[k];
+                curve[k] = 1 - ratio(dead, runs);
+            }
+            return curve;
+        }
+
+        /** How many runs ended on each final scene (or on a "(...)" marker for runs that went nowhere). */
+        public Map<String, Long> endings() {
+            Map<String, Long> counts = new HashMap<>();
+            endings.forEach((ending, n) -> counts.put(ending, n[0]));
+            return counts;
+        }
+
+        void ending(String key) {
+            endings.computeIfAbsent(key, k -> new long[1])[0]++;
+        }
+
+        Stats merge(Stats other) {
+            runs += other.runs;
+            wins += other.wins;
+            deaths += other.deaths;
+            deadEnds += other.deadEnds;
+            stuck += other.stuck;
+            cutoffs += other.cutoffs;
+            steps += other.steps;
+            healthAtDeath += other.healthAtDeath;
+            fights += other.fights;
+            fightsLost += other.fightsLost;
+            armedFights += other.armedFights;
+            weaponBreaks += other.weaponBreaks;
+            for (int k = 0; k < deathsAtStep.length; k++) deathsAtStep[k] += other.deathsAtStep[k];
+            other.endings.forEach((ending, n) -> endings.computeIfAbsent(ending, k -> new long[1])[0] += n[0]);
+            return this;
+        }
+
+        private static double ratio(long a, long b) {
+            return b == 0 ? 0 : (double) a / b;
+        }
+    }
+
+    private Simulator() { }
+
+    /**
+     * Plays {@code runs} runs of {@code story} starting from {@code preset}. Runs are split
+     * into fixed shards with their own random stream, so the result only depends on the seed.
+     */
+    public static Stats simulate(SceneLoader story, String preset, long runs, Policy policy, long seed) {
+        return simulate(story, preset, runs, policy, seed, CombatParams.DEFAULT, true);
+    }
+
+    /**
+     * Same, fighting with {@code params}; {@code parallel} false plays the shards on the
+     * calling thread, for callers that already spread their own work over the cores.
+     */
+    static Stats simulate(SceneLoader story, String preset, long runs, Policy policy, long seed,
+                          CombatParams params, boolean parallel) {
+        GameEngine engine = new GameEngine(story, TAKE_NEW, params);
+        int shards = (int) Math.max(1, (runs + RUNS_PER_SHARD - 1) / RUNS_PER_SHARD);
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[shards];
+        for (int i = 0; i < shards; i++) randoms[i] = root.split();
+
+        IntStream shardIds = IntStream.range(0, shards);
+        if (parallel) shardIds = shardIds.parallel();
+        return shardIds
+            .mapToObj(shard -> {
+                long first = shard * (long) RUNS_PER_SHARD;
+                long count = Math.min(RUNS_PER_SHARD, runs - first);
+                Stats stats = new Stats();
+                RunState state = new RunState(new GameModel());
+                for (long i = 0; i < count; i++) {
+                    play(engine, state, preset, policy, randoms[shard], stats);
+                }
+                return stats;
+            })
+            .reduce(Stats::merge)
+            .orElseGet(Stats::new);
+    }
+
+    static void play(GameEngine engine, RunState state, String preset, Policy policy, SplittableRandom random, Stats stats) {
+        GameModel model = state.getModel();
+        model.resetHealth();
+        StepOutcome outcome = engine.start(state, preset);
+        int steps = 0;
+        int healthBefore = model.getHealth();
+        stats.runs++;
+        while (!outcome.isFinal()) {
+            GameScene scene = outcome.getScene();
+            List<GameChoice> choices = scene.getChoices();
+            if (choices == null || choices.isEmpty()) {
+                stats.stuck++;
+                stats.ending("(stuck) " + scene.getId());
+                stats.steps += steps;
+                return;
+            }
+            if (steps == MAX_STEPS) {
+                stats.cutoffs++;
+                stats.ending("(step limit)");
+                stats.steps += steps;
+                return;
+            }
+            eat(policy, state);
+            healthBefore = model.getHealth();
+            outcome = engine.step(state, choices.get(policy.choose(scene, state, random)));
+            steps++;
+            if (outcome.isFight()) {
+                stats.fights++;
+                if (!outcome.isFightWon()) stats.fightsLost++;
+                if (outcome.getWeapon() != null) stats.armedFights++;
+                if (outcome.isWeaponBroke()) stats.weaponBreaks++;
+            }
+        }
+        stats.steps += steps;
+        switch (outcome.getKind()) {
+            case WIN -> {
+                stats.wins++;
+                stats.ending(outcome.getScene().getId());
+            }
+            case DEATH -> {
+                stats.deaths++;
+                stats.deathsAtStep[steps]++;
+                stats.healthAtDeath += healthBefore;
+                stats.ending(outcome.getScene().getId());
+            }
+            default -> {
+                stats.deadEnds++;
+                stats.ending("(no scene)");
+            }
+        }
+    }
+
+    private static void eat(Policy policy, RunState state) {
+        GameModel model = state.getModel();
+        List<InventoryItem> food = model.getItems().get(ItemType.CONSUMABLE);
+        for (int i = food.size() - 1; i >= 0; i--) {
+            InventoryItem item = food.get(i);
+            if (policy.eat(state, item)) model.consumeItem(item);
+        }
+    }
+
+    public static void main(String[] args) {
+        long runs = args.length > 0 ? Long.parseLong(args[0].replace("_", "")) : 1_000_000L;
+        Policy policy = args.length > 1 ? Policies.named(args[1]) : Policies.RANDOM;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+        String[] stories = args.length > 3 ? Arrays.copyOfRange(args, 3, args.length) : STORIES;
+
+        InventoryPresets.preload();
+        DebugLog.setEnabled(false);
+        System.out.printf("[DEBUG] Simulating %,d runs per story and preset, policy %s, seed %d, %d cores%n",
+            runs, policy, seed, Runtime.getRuntime().availableProcessors());
+        for (String path : stories) {
+            SceneLoader story = StoryRepository.loadForBatch(path);
+            for (String preset : PRESETS) {
+                long started = System.nanoTime();
+                Stats stats = simulate(story, preset, runs, policy, seed);
+                print(Paths.get(path).getFileName().toString(), preset, stats, (System.nanoTime() - started) / 1_000_000);
+            }
+        }
+    }
+
+    private static void print(String story, String preset, Stats s, long millis) {
+        System.out.printf("%n== %s | %s | %,d runs in %,d ms%n", story, preset, s.runs, millis);
+        System.out.printf("win rate %.1f%% | deaths %.1f%% | dead ends %.1f%% | stuck %.1f%% | step limit %.1f%% | %.1f choices per run%n",
+            100 * s.winRate(), pct(s.deaths, s.runs), pct(s.deadEnds, s.runs), pct(s.stuck, s.runs), pct(s.cutoffs, s.runs),
+            Stats.ratio(s.steps, s.runs));
+        System.out.printf("mean health at death %.1f (going into the fatal choice)%n", s.meanHealthAtDeath());
+        double[] survival = s.survival(20);
+        System.out.printf("alive after 5 / 10 / 20 choices: %.1f%% / %.1f%% / %.1f%%%n",
+            100 * survival[5], 100 * survival[10], 100 * survival[20]);
+        System.out.printf("fights %.2f per run, %.1f%% lost | weapon breaks %.3f per run, %.1f%% of armed fights%n",
+            Stats.ratio(s.fights, s.runs), pct(s.fightsLost, s.fights), Stats.ratio(s.weaponBreaks, s.runs), 100 * s.weaponBreakRate());
+        List<Map.Entry<String, Long>> endings = new ArrayList<>(s.endings().entrySet());
+        endings.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        for (Map.Entry<String, Long> e : endings) {
+            System.out.printf("  %6.2f%%  %s%n", pct(e.getValue(), s.runs), e.getKey());
+        }
+    }
+
+    private static double pct(long a, long b) {
+        return 100 * Stats.ratio(a, b);
+    }
+}
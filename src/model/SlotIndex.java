@@ -0,0 +1,260 @@
+package model;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Index of {@link SlotSummary} records kept next to the saves in {@code index.json},
+ * so the slot pickers never parse the saves themselves. It is updated by every save
+ * and delete. In memory the entries are also kept ordered by last played, for paged
+ * listing, and by player name, for lookup.
+ *
+ * <p>Each entry remembers the modification time and size of its slot file. When one
+ * slot is looked up and its file has changed behind the index's back, the summary is
+ * rebuilt from it. Listing trusts the index and touches no save file. When the index
+ * is first read, the save directory is listed once to pick up slots the index doesn't
+ * know about and to drop entries whose files are gone.
+ */
+final class SlotIndex {
+    private static final Gson GSON = new Gson();
+    private static final Type ENTRIES_TYPE = new TypeToken<Map<Integer, Entry>>(){}.getType();
+    private static final Pattern SLOT_FILE = Pattern.compile("slot(\\d+)\\.(sav|json)");
+
+    private static final class Entry {
+        SlotSummary summary;
+        long slotFileModified;
+        long slotFileBytes;
+    }
+
+    private static final Comparator<Entry> RECENT_FIRST =
+        Comparator.comparingLong((Entry e) -> e.summary.lastUpdatedEpochMillis).reversed()
+            .thenComparingInt(e -> e.summary.slot);
+
+    // guarded by SlotIndex.class
+    private static Map<Integer, Entry> entries;
+    private static TreeSet<Entry> byRecent;
+    private static Map<String, Integer> byName; // most recently played slot per name
+    private static boolean persistQueued;
+
+    private SlotIndex() { }
+
+    static Path indexFile() {
+        return SaveManager.SAVE_DIR.resolve("index.json");
+    }
+
+    static synchronized Optional<SlotSummary> get(int slot, Path slotFile) {
+        load();
+        byte[] pending = SaveWriter.pending(slotFile);
+        if (pending == SaveWriter.DELETED) return Optional.empty();
+        Entry entry = entries.get(slot);
+        if (pending != null && entry != null) return Optional.of(entry.summary);
+
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(slotFile, BasicFileAttributes.class);
+        } catch (IOException e) {
+            // no slot file
+            if (drop(slot)) persist();
+            return Optional.empty();
+        }
+        if (entry != null && entry.slotFileModified == attrs.lastModifiedTime().toMillis()
+                && entry.slotFileBytes == attrs.size()) {
+            return Optional.of(entry.summary);
+        }
+
+        // written by an older build or edited by hand: rebuild from the save itself
+        Optional<SaveData> data = SaveManager.load(slot);
+        if (data.isEmpty()) return Optional.empty();
+        Entry rebuilt = new Entry();
+        rebuilt.summary = SlotSummary.of(slot, data.get());
+        rebuilt.slotFileModified = attrs.lastModifiedTime().toMillis();
+        rebuilt.slotFileBytes = attrs.size();
+        put(rebuilt);
+        persist();
+        return Optional.of(rebuilt.summary);
+    }
+
+    /** One page of summaries, most recently played first. */
+    static synchronized List<SlotSummary> page(int page, int pageSize) {
+        load();
+        List<SlotSummary> out = new ArrayList<>(pageSize);
+        Iterator<Entry> it = byRecent.iterator();
+        for (int skip = page * pageSize; skip > 0 && it.hasNext(); skip--) it.next();
+        while (out.size() < pageSize && it.hasNext()) out.add(it.next().summary);
+        return out;
+    }
+
+    static synchronized int size() {
+        load();
+        return entries.size();
+    }
+
+    static synchronized int maxSlot() {
+        load();
+        int max = 0;
+        for (int slot : entries.keySet()) max = Math.max(max, slot);
+        return max;
+    }
+
+    static synchronized Optional<SlotSummary> byPlayerName(String playerName) {
+        load();
+        Integer slot = byName.get(nameKey(playerName));
+        return slot == null ? Optional.empty() : Optional.of(entries.get(slot).summary);
+    }
+
+    /**
+     * Records the summary of a save that has just been queued. The stamp of the slot
+     * file is kept, because a journaled save doesn't touch the file; {@link #written}
+     * updates it when a snapshot lands.
+     */
+    static synchronized void update(int slot, SaveData data) {
+        load();
+        Entry old = entries.get(slot);
+        Entry entry = new Entry();
+        entry.summary = SlotSummary.of(slot, data);
+        if (old != null) {
+            entry.slotFileModified = old.slotFileModified;
+            entry.slotFileBytes = old.slotFileBytes;
+        }
+        put(entry);
+        persist();
+    }
+
+    static synchronized void remove(int slot) {
+        load();
+        if (drop(slot)) persist();
+    }
+
+    static synchronized void written(int slot, Path slotFile) {
+        load();
+        Entry entry = entries.get(slot);
+        if (entry == null || SaveWriter.pending(slotFile) != null) return; // a newer save is queued
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(slotFile, BasicFileAttributes.class);
+            entry.slotFileModified = attrs.lastModifiedTime().toMillis();
+            entry.slotFileBytes = attrs.size();
+        } catch (IOException e) {
+            System.err.println("[DEBUG] Failed to stat save (slot " + slot + "): " + e);
+        }
+        persist();
+    }
+
+    private static void put(Entry entry) {
+        int slot = entry.summary.slot;
+        drop(slot);
+        entries.put(slot, entry);
+        byRecent.add(entry);
+        String name = nameKey(entry.summary.playerName);
+        if (name != null) {
+            Integer current = byName.get(name);
+            if (current == null || RECENT_FIRST.compare(entry, entries.get(current)) < 0) {
+                byName.put(name, slot);
+            }
+        }
+    }
+
+    private static boolean drop(int slot) {
+        Entry entry = entries.remove(slot);
+        if (entry == null) return false;
+        byRecent.remove(entry);
+        String name = nameKey(entry.summary.playerName);
+        if (name != null && Integer.valueOf(slot).equals(byName.get(name))) {
+            byName.remove(name);
+            // fall back to the next most recent profile with the same name
+            for (Entry e : byRecent) {
+                if (name.equals(nameKey(e.summary.playerName))) {
+                    byName.put(name, e.summary.slot);
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String nameKey(String playerName) {
+        if (playerName == null || playerName.isBlank()) return null;
+        return playerName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void load() {
+        if (entries != null) return;
+        entries = new HashMap<>();
+        byRecent = new TreeSet<>(RECENT_FIRST);
+        byName = new HashMap<>();
+        Path file = indexFile();
+        if (Files.exists(file)) {
+            try (Reader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                Map<Integer, Entry> read = GSON.fromJson(r, ENTRIES_TYPE);
+                if (read != null) {
+                    read.forEach((slot, entry) -> {
+                        if (entry == null || entry.summary == null) return;
+                        entry.summary.slot = slot;
+                        put(entry);
+                    });
+                }
+            } catch (IOException | JsonParseException e) {
+                // the index is only a cache; it is rebuilt from the slot files
+                System.err.println("[DEBUG] Ignoring unreadable save index: " + e);
+            }
+        }
+        reconcile();
+    }
+
+    // Lists the save directory (without opening any save) and brings the index in line with it.
+    private static void reconcile() {
+        Set<Integer> onDisk = new HashSet<>();
+        try (DirectoryStream<Path> dir = Files.newDirectoryStream(SaveManager.SAVE_DIR, "slot*.{sav,json}")) {
+            for (Path p : dir) {
+                Matcher m = SLOT_FILE.matcher(p.getFileName().toString());
+                if (m.matches()) onDisk.add(Integer.parseInt(m.group(1)));
+            }
+        } catch (IOException e) {
+            System.err.println("[DEBUG] Failed to list saves: " + e);
+            return;
+        }
+        boolean changed = false;
+        for (Integer slot : new ArrayList<>(entries.keySet())) {
+            if (!onDisk.contains(slot)) changed |= drop(slot);
+        }
+        for (int slot : onDisk) {
+            if (!entries.containsKey(slot)) SaveManager.summary(slot); // rebuilds the entry
+        }
+        if (changed) persist();
+    }
+
+    // Serialized on the writer thread, so saving doesn't pay for a large index on the caller's thread.
+    private static void persist() {
+        if (persistQueued) return;
+        persistQueued = true;
+        SaveWriter.inOrder(indexFile(), () -> {
+            byte[] bytes;
+            synchronized (SlotIndex.class) {
+                persistQueued = false;
+                bytes = GSON.toJson(entries, ENTRIES_TYPE).getBytes(StandardCharsets.UTF_8);
+            }
+            SaveWriter.writeAtomically(indexFile(), bytes);
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** What the slot pickers need to know about a save, without loading it. */
+public class SlotSummary {
+    public int slot;
+    public String playerName;
+    public String currentSceneId;
+    public String storyFilePath;
+    public long lastUpdatedEpochMillis;
+    public int completedEndings;
+    public List<String> completedWinSceneIds = new ArrayList<>();
+
+    static SlotSummary of(int slot, SaveData data) {
+        SlotSummary s = new SlotSummary();
+        s.slot = slot;
+        s.playerName = data.playerName;
+        s.currentSceneId = data.currentSceneId;
+        s.storyFilePath = data.storyFilePath;
+        s.lastUpdatedEpochMillis = data.lastUpdatedEpochMillis;
+        if (data.completedWinSceneIds != null) {
+            s.completedWinSceneIds = new ArrayList<>(data.completedWinSceneIds);
+        }
+        s.completedEndings = s.completedWinSceneIds.size();
+        return s;
+    }
+}
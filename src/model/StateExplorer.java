@@ -0,0 +1,463 @@
+package model;
+
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Exhaustive walk of a story's state space through {@link GameEngine}. A state is the
+ * scene, health, inventory (item and durability per slot), antidote flag and the set of
+ * scenes whose item was already picked up. States are canonicalized into an int array
+ * and deduplicated in a concurrent visited set, so every equivalent branch is expanded
+ * once. The search goes level by level; each level is expanded on a parallel stream.
+ *
+ * <p>From a state the explorer tries every choice, both answers to a key-item swap and
+ * every weapon to drop (or none) when an item is offered, and, unless
+ * {@code -Dzombie.explore.eat=false}, eating each kind of food the player carries.
+ * Every preset is a starting point.
+ *
+ * <pre>java -cp out;lib\gson-2.10.1.jar model.StateExplorer [story.json ...]</pre>
+ * The report lists reachable endings, scenes no state reaches and guaranteed-death
+ * states: states from which every path ends in a death. The search stops after
+ * {@code -Dzombie.explore.maxStates} states (default 5,000,000) and says so.
+ */
+public final class StateExplorer {
+    private static final int DEFAULT_MAX_STATES = 5_000_000;
+
+    // Terminal nodes have a negative first key element: -1 - kind.
+    private static final int WIN = 0;
+    private static final int DEATH = 1;
+    private static final int NO_SCENE = 2;
+    private static final int STUCK = 3;
+    private static final String[] TERMINAL_NAMES = { "WIN", "DEATH", "NO SCENE", "STUCK" };
+
+    private static final Node[] NO_NEXT = new Node[0];
+
+    /** One canonical state; equal keys are the same state. */
+    static final class Node {
+        final int[] key;
+        final int hash;
+        // written once by the thread that expands the node, read after the level completes
+        Node[] next = NO_NEXT;
+        boolean expanded;
+
+        Node(int[] key) {
+            this.key = key;
+            this.hash = Arrays.hashCode(key);
+        }
+
+        boolean isTerminal() {
+            return key[0] < 0;
+        }
+
+        int terminalKind() {
+            return -1 - key[0];
+        }
+
+        int scene() {
+            return isTerminal() ? key[1] : key[0];
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Node other && hash == other.hash && Arrays.equals(key, other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /** What the exploration found. */
+    public static final class Report {
+        private final int states;
+        private final boolean complete;
+        private final Map<String, Integer> endings;
+        private final List<String> unreachableScenes;
+        private final int guaranteedDeathStates;
+        private final Map<String, int[]> deathStatesByScene;
+
+        Report(int states, boolean complete, Map<String, Integer> endings, List<String> unreachableScenes,
+               int guaranteedDeathStates, Map<String, int[]> deathStatesByScene) {
+            this.states = states;
+            this.complete = complete;
+            this.endings = endings;
+            this.unreachableScenes = unreachableScenes;
+            this.guaranteedDeathStates = guaranteedDeathStates;
+            this.deathStatesByScene = deathStatesByScene;
+        }
+
+        /** Distinct states found, endings included. */
+        public int getStates() {
+            return states;
+        }
+
+        /** False if the search hit the state limit; the other results then cover only what was found. */
+        public boolean isComplete() {
+            return complete;
+        }
+
+        /** "KIND scene" of each reachable ending, with how many states lead straight to it. */
+        public Map<String, Integer> getEndings() {
+            return endings;
+        }
+
+        public List<String> getUnreachableScenes() {
+            return unreachableScenes;
+        }
+
+        public int getGuaranteedDeathStates() {
+            return guaranteedDeathStates;
+        }
+
+        /** Per scene: {guaranteed-death states, all states} on that scene, for scenes with any. */
+        public Map<String, int[]> getDeathStatesByScene() {
+            return deathStatesByScene;
+        }
+    }
+
+    private final SceneLoader story;
+    private final boolean eat;
+    private final int maxStates;
+    private final ItemDefs defs;
+    private final ConcurrentHashMap<Node, Node> visited = new ConcurrentHashMap<>();
+    private final ThreadLocal<Worker> workers;
+
+    private StateExplorer(SceneLoader story, boolean eat, int maxStates) {
+        this.story = story;
+        this.eat = eat;
+        this.maxStates = maxStates;
+        this.defs = new ItemDefs(story);
+        this.workers = ThreadLocal.withInitial(Worker::new);
+    }
+
+    public static Report explore(SceneLoader story, boolean eat, int maxStates) {
+        return new StateExplorer(story, eat, maxStates).run();
+    }
+
+    private Report run() {
+        List<Node> frontier = new ArrayList<>();
+        Worker worker = workers.get();
+        for (String preset : Simulator.PRESETS) {
+            worker.state.getModel().resetHealth();
+            worker.add(worker.intern(worker.engine.start(worker.state, preset)), new ArrayList<>(), frontier);
+        }
+        while (!frontier.isEmpty() && visited.size() < maxStates) {
+            frontier = frontier.parallelStream()
+                .flatMap(node -> workers.get().expand(node).stream())
+                .collect(Collectors.toList());
+        }
+        return analyze(frontier.isEmpty());
+    }
+
+    /**
+     * Marks every state that can still reach an ending other than a death (or a state
+     * left unexpanded at the limit), walking the edges backwards; the rest are
+     * guaranteed deaths.
+     */
+    private Report analyze(boolean complete) {
+        Node[] nodes = visited.values().toArray(new Node[0]);
+        Map<Node, Integer> ids = new HashMap<>(nodes.length * 2);
+        for (int i = 0; i < nodes.length; i++) ids.put(nodes[i], i);
+
+        // reverse edges in compressed rows
+        int[] start = new int[nodes.length + 1];
+        for (Node node : nodes) {
+            for (Node next : node.next) start[ids.get(next) + 1]++;
+        }
+        for (int i = 0; i < nodes.length; i++) start[i + 1] += start[i];
+        int[] fill = Arrays.copyOf(start, nodes.length);
+        int[] from = new int[start[nodes.length]];
+        for (int i = 0; i < nodes.length; i++) {
+            for (Node next : nodes[i].next) from[fill[ids.get(next)]++] = i;
+        }
+
+        BitSet survives = new BitSet(nodes.length);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int i = 0; i < nodes.length; i++) {
+            Node node = nodes[i];
+            boolean escapes = node.isTerminal() ? node.terminalKind() != DEATH : !node.expanded;
+            if (escapes) {
+                survives.set(i);
+                queue.add(i);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int i = queue.poll();
+            for (int k = start[i]; k < start[i + 1]; k++) {
+                if (!survives.get(from[k])) {
+                    survives.set(from[k]);
+                    queue.add(from[k]);
+                }
+            }
+        }
+
+        Map<String, Integer> endings = new TreeMap<>();
+        Map<String, int[]> deathsByScene = new TreeMap<>();
+        BitSet reachedScenes = new BitSet(story.getSceneCount());
+        int doomed = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            Node node = nodes[i];
+            if (node.scene() >= 0) reachedScenes.set(node.scene());
+            String sceneId = node.scene() >= 0 ? story.getSceneByIndex(node.scene()).getId() : "-";
+            if (node.isTerminal()) {
+                endings.put(TERMINAL_NAMES[node.terminalKind()] + " " + sceneId, start[i + 1] - start[i]);
+                continue;
+            }
+            int[] counts = deathsByScene.computeIfAbsent(sceneId, k -> new int[2]);
+            counts[1]++;
+            if (!survives.get(i)) {
+                counts[0]++;
+                doomed++;
+            }
+        }
+        deathsByScene.values().removeIf(counts -> counts[0] == 0);
+
+        List<String> unreachable = new ArrayList<>();
+        for (int i = 0; i < story.getSceneCount(); i++) {
+            if (!reachedScenes.get(i)) unreachable.add(story.getSceneByIndex(i).getId());
+        }
+        return new Report(nodes.length, complete, endings, unreachable, doomed, deathsByScene);
+    }
+
+    /** Per-thread engine and scratch run state; states are decoded into it before each move. */
+    private final class Worker {
+        final ScriptedDecisions decisions = new ScriptedDecisions();
+        final GameEngine engine = new GameEngine(story, decisions);
+        final RunState state = new RunState(new GameModel());
+        final BitSet processed = new BitSet(story.getSceneCount());
+
+        List<Node> expand(Node node) {
+            List<Node> found = new ArrayList<>();
+            List<Node> next = new ArrayList<>();
+            GameScene scene = story.getSceneByIndex(node.scene());
+            List<GameChoice> choices = scene.getChoices();
+            for (GameChoice choice : choices) {
+                int options = 1;
+                for (int answer = 0; answer < options; answer++) {
+                    decode(node);
+                    decisions.script(answer);
+                    StepOutcome outcome = engine.step(state, choice);
+                    options = Math.max(options, decisions.options);
+                    add(intern(outcome), next, found);
+                }
+            }
+            if (eat) {
+                decode(node);
+                List<InventoryItem> food = new ArrayList<>(state.getModel().getItems().get(ItemType.CONSUMABLE));
+                for (int i = 0; i < food.size(); i++) {
+                    if (i > 0 && sameDef(food, i)) continue;
+                    if (i > 0) decode(node);
+                    GameModel model = state.getModel();
+                    model.consumeItem(model.getItems().get(ItemType.CONSUMABLE).get(i));
+                    add(intern(StepOutcome.entered(state.getScene(), model)), next, found);
+                }
+            }
+            node.next = next.toArray(NO_NEXT);
+            node.expanded = true;
+            return found;
+        }
+
+        private boolean sameDef(List<InventoryItem> food, int i) {
+            for (int j = 0; j < i; j++) {
+                if (defs.id(food.get(j)) == defs.id(food.get(i))) return true;
+            }
+            return false;
+        }
+
+        private void add(Node node, List<Node> next, List<Node> found) {
+            if (node == null) return;
+            Node existing = visited.putIfAbsent(node, node);
+            if (existing == null) {
+                if (!node.isTerminal()) found.add(node);
+                existing = node;
+            }
+            next.add(existing);
+        }
+
+        /** The canonical node for where an outcome left the run (not yet in the visited set). */
+        Node intern(StepOutcome outcome) {
+            GameScene scene = outcome.getScene();
+            switch (outcome.getKind()) {
+                case WIN: return new Node(new int[] { -1 - WIN, scene.getIndex() });
+                case DEATH: return new Node(new int[] { -1 - DEATH, scene.getIndex() });
+                case NO_SCENE: return new Node(new int[] { -1 - NO_SCENE, -1 });
+                default:
+                    if (scene.getChoices() == null || scene.getChoices().isEmpty()) {
+                        return new Node(new int[] { -1 - STUCK, scene.getIndex() });
+                    }
+                    return new Node(encode(scene));
+            }
+        }
+
+        // [scene, health, antidoteUsed, word count, processed-scene bitset words..., per type: count, (def, durability)...]
+        private int[] encode(GameScene scene) {
+            GameModel model = state.getModel();
+            Inventory items = model.getItems();
+            processed.clear();
+            for (String id : state.getAddItemProcessedScenes()) {
+                int index = story.indexOf(id);
+                if (index >= 0) processed.set(index);
+            }
+            long[] words = processed.toLongArray();
+            int[] key = new int[4 + words.length * 2 + 3 + 2 * items.size()];
+            int k = 0;
+            key[k++] = scene.getIndex();
+            key[k++] = model.getHealth();
+            key[k++] = model.isAntidoteUsed() ? 1 : 0;
+            key[k++] = words.length * 2;
+            for (long word : words) {
+                key[k++] = (int) word;
+                key[k++] = (int) (word >>> 32);
+            }
+            for (ItemType type : ItemType.values()) {
+                List<InventoryItem> bucket = items.get(type);
+                key[k++] = bucket.size();
+                int first = k;
+                for (InventoryItem item : bucket) {
+                    key[k++] = defs.id(item);
+                    key[k++] = item.getDurability();
+                }
+                // food order has no effect on the rules, so it is sorted; weapon order breaks ties between equal powers
+                if (type == ItemType.CONSUMABLE) sortPairs(key, first, k);
+            }
+            return k == key.length ? key : Arrays.copyOf(key, k);
+        }
+
+        private void decode(Node node) {
+            int[] key = node.key;
+            GameModel model = state.getModel();
+            int k = 0;
+            GameScene scene = story.getSceneByIndex(key[k++]);
+            model.setHealth(key[k++]);
+            model.setAntidoteUsed(key[k++] == 1);
+            List<String> processedIds = new ArrayList<>();
+            int end = k + 1 + key[k];
+            k++;
+            for (int word = 0; k < end; word++, k += 2) {
+                long bits = (key[k] & 0xFFFFFFFFL) | ((long) key[k + 1] << 32);
+                for (int b = 0; b < 64; b++) {
+                    if ((bits & (1L << b)) != 0) processedIds.add(story.getSceneByIndex(word * 64 + b).getId());
+                }
+            }
+            model.clearInventory();
+            for (ItemType type : ItemType.values()) {
+                int count = key[k++];
+                for (int i = 0; i < count; i++) {
+                    model.getItems().add(defs.newItem(key[k++], key[k++]));
+                }
+            }
+            state.restore(processedIds, scene.getId());
+            state.setScene(scene);
+        }
+    }
+
+    private static void sortPairs(int[] key, int from, int to) {
+        for (int i = from + 2; i < to; i += 2) {
+            int def = key[i], dur = key[i + 1];
+            int j = i - 2;
+            while (j >= from && (key[j] > def || (key[j] == def && key[j + 1] > dur))) {
+                key[j + 2] = key[j];
+                key[j + 3] = key[j + 1];
+                j -= 2;
+            }
+            key[j + 2] = def;
+            key[j + 3] = dur;
+        }
+    }
+
+    /** Answers the engine's one question per step from a script, and records how many answers it had. */
+    private static final class ScriptedDecisions implements PlayerDecisions {
+        int answer;
+        int options;
+
+        void script(int answer) {
+            this.answer = answer;
+            this.options = 1;
+        }
+
+        @Override
+        public boolean swapKeyItem(InventoryItem current, InventoryItem offered) {
+            options = 2;
+            return answer == 1;
+        }
+
+        @Override
+        public InventoryItem weaponToDrop(List<InventoryItem> weapons, InventoryItem offered) {
+            options = weapons.size() + 1;
+            return answer == 0 ? null : weapons.get(answer - 1);
+        }
+    }
+
+    /** Every distinct item (name, type, health restore, power) the story can hand out, by dense id. */
+    private static final class ItemDefs {
+        private final Map<List<Object>, Integer> ids = new HashMap<>();
+        private final List<InventoryItem> prototypes = new ArrayList<>();
+
+        ItemDefs(SceneLoader story) {
+            for (String preset : new String[] { InventoryPresets.STARTING, InventoryPresets.HEALTH_HEAVY,
+                    InventoryPresets.ATTACK_HEAVY, InventoryPresets.BALANCED }) {
+                for (InventoryItem item : InventoryPresets.newItems(preset)) register(item);
+            }
+            for (int i = 0; i < story.getSceneCount(); i++) {
+                GameScene scene = story.getSceneByIndex(i);
+                if (scene.hasAddItem()) register(scene.getAddItem());
+            }
+        }
+
+        private void register(InventoryItem item) {
+            if (ids.putIfAbsent(key(item), prototypes.size()) == null) prototypes.add(item);
+        }
+
+        int id(InventoryItem item) {
+            Integer id = ids.get(key(item));
+            if (id == null) throw new IllegalStateException("Item not in any preset or scene: " + item.getName());
+            return id;
+        }
+
+        InventoryItem newItem(int id, int durability) {
+            InventoryItem p = prototypes.get(id);
+            return new InventoryItem(p.getName(), p.getType(), p.getHealthRestore(), durability, p.getPower());
+        }
+
+        private static List<Object> key(InventoryItem item) {
+            return Arrays.asList(item.getName(), item.getType(), item.getHealthRestore(), item.getPower());
+        }
+    }
+
+    public static void main(String[] args) {
+        boolean eat = !"false".equalsIgnoreCase(System.getProperty("zombie.explore.eat"));
+        int maxStates = Integer.getInteger("zombie.explore.maxStates", DEFAULT_MAX_STATES);
+        Collection<String> stories = args.length > 0 ? Arrays.asList(args) : Arrays.asList(Simulator.STORIES);
+
+        InventoryPresets.preload();
+        DebugLog.setEnabled(false);
+        for (String path : stories) {
+            long started = System.nanoTime();
+            Report report = explore(StoryRepository.loadForBatch(path), eat, maxStates);
+            print(Paths.get(path).getFileName().toString(), report, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private static void print(String story, Report r, long millis) {
+        System.out.printf("%n== %s | %,d states in %,d ms%s%n", story, r.getStates(), millis,
+            r.isComplete() ? "" : " | INCOMPLETE: state limit reached");
+        System.out.println("reachable endings (states leading to each):");
+        r.getEndings().forEach((ending, n) -> System.out.printf("  %-40s %,d%n", ending, n));
+        System.out.println("unreachable scenes (" + r.getUnreachableScenes().size() + "): "
+            + (r.getUnreachableScenes().isEmpty() ? "none" : String.join(", ", r.getUnreachableScenes())));
+        System.out.printf("guaranteed-death states: %,d%n", r.getGuaranteedDeathStates());
+        r.getDeathStatesByScene().forEach((scene, n) ->
+            System.out.printf("  %-40s %,d of %,d states%s%n", scene, n[0], n[1], n[0] == n[1] ? " (always)" : ""));
+    }
+}
@@ -0,0 +1,92 @@
+package model;
+
+/**
+ * What one {@link GameEngine} step led to: the scene now shown (already entered, so
+ * its effects, pickup and health change are applied) and, if the choice was a fight,
+ * how the fight went.
+ */
+public final class StepOutcome {
+    public enum Kind {
+        /** A scene to show and choose from. */
+        SCENE,
+        /** A winning ending. */
+        WIN,
+        /** The scene left the player with no health. */
+        DEATH,
+        /** The choice leads nowhere (unlinked scene); the run stops here. */
+        NO_SCENE
+    }
+
+    private static final StepOutcome NOWHERE = new StepOutcome(Kind.NO_SCENE, null, false, false, null, false);
+
+    private final Kind kind;
+    private final GameScene scene;
+    private final boolean fight;
+    private final boolean fightWon;
+    private final InventoryItem weapon;
+    private final boolean weaponBroke;
+
+    private StepOutcome(Kind kind, GameScene scene, boolean fight, boolean fightWon, InventoryItem weapon, boolean weaponBroke) {
+        this.kind = kind;
+        this.scene = scene;
+        this.fight = fight;
+        this.fightWon = fightWon;
+        this.weapon = weapon;
+        this.weaponBroke = weaponBroke;
+    }
+
+    static StepOutcome entered(GameScene scene, GameModel model) {
+        return new StepOutcome(kindOf(scene, model), scene, false, false, null, false);
+    }
+
+    static StepOutcome fought(StepOutcome entered, boolean won, InventoryItem weapon, boolean weaponBroke) {
+        return new StepOutcome(entered.kind, entered.scene, true, won, weapon, weaponBroke);
+    }
+
+    static StepOutcome nowhere() {
+        return NOWHERE;
+    }
+
+    private static Kind kindOf(GameScene scene, GameModel model) {
+        if (model.getHealth() <= 0) return Kind.DEATH;
+        return scene.isWinEnding() ? Kind.WIN : Kind.SCENE;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /** The scene now shown, or null for {@link Kind#NO_SCENE}. */
+    public GameScene getScene() {
+        return scene;
+    }
+
+    /** True when the run is over (win, death or a dead end). */
+    public boolean isFinal() {
+        return kind != Kind.SCENE;
+    }
+
+    public boolean isFight() {
+        return fight;
+    }
+
+    public boolean isFightWon() {
+        return fightWon;
+    }
+
+    /** The weapon used in the fight, or null if the player fought unarmed (or there was no fight). */
+    public InventoryItem getWeapon() {
+        return weapon;
+    }
+
+    public boolean isWeaponBroke() {
+        return weaponBroke;
+    }
+
+    @Override
+    public String toString() {
+        return kind + (scene != null ? " " + scene.getId() : "")
+            + (fight ? (fightWon ? " (fight won" : " (fight lost") + (weapon != null ? " with " + weapon.getName() : " unarmed")
+                + (weaponBroke ? ", weapon broke)" : ")") : "");
+    }
+}
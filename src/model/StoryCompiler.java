@@ -0,0 +1,170 @@
+package model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static model.BinaryStoryFormat.*;
+
+/**
+ * Offline compiler from authoring JSON to the binary story format. Run it after editing
+ * a story; {@link StoryRepository} picks up the compiled file when it is newer than the JSON.
+ *
+ * <pre>java -cp out;lib\gson-2.10.1.jar model.StoryCompiler [story.json ...]</pre>
+ * With no arguments every {@code src/data/*_story*.json} is compiled.
+ */
+public final class StoryCompiler {
+    private StoryCompiler() { }
+
+    public static void main(String[] args) throws IOException {
+        List<Path> sources = new ArrayList<>();
+        if (args.length == 0) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get("src", "data"), "*_story*.json")) {
+                stream.forEach(sources::add);
+            }
+        } else {
+            for (String arg : args) sources.add(Paths.get(arg));
+        }
+        for (Path source : sources) {
+            Path target = BinaryStoryFormat.compiledPathFor(source.toString());
+            int bytes = compile(source, target);
+            System.out.println("Compiled " + source + " -> " + target + " (" + bytes + " bytes)");
+        }
+    }
+
+    public static int compile(Path source, Path target) throws IOException {
+        Map<String, String> effectJsonById = new HashMap<>();
+        SceneLoader loader = new SceneLoader(source.toString(), effectJsonById);
+        byte[] image = encode(loader, effectJsonById, Files.getLastModifiedTime(source).toMillis());
+
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(tmp, image);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return image.length;
+    }
+
+    static byte[] encode(SceneLoader loader, Map<String, String> effectJsonById, long sourceLastModified) throws IOException {
+        List<GameScene> scenes = new ArrayList<>(loader.getScenes().values());
+
+        StringTable strings = new StringTable();
+        ByteBuffer sceneTable = ByteBuffer.allocate(scenes.size() * SCENE_RECORD_BYTES);
+        List<GameChoice> allChoices = new ArrayList<>();
+        for (GameScene scene : scenes) {
+            InventoryItem item = scene.getAddItem();
+            int base = sceneTable.position();
+            sceneTable.putInt(base + S_ID, strings.intern(scene.getId()));
+            sceneTable.putInt(base + S_PROMPT, strings.intern(scene.getPrompt()));
+            sceneTable.putInt(base + S_IMAGE_PATH, strings.intern(scene.getImagePath()));
+            sceneTable.putInt(base + S_ENDING, strings.intern(scene.getEnding()));
+            sceneTable.putInt(base + S_HEALTH_CHANGE, scene.getHealthChange());
+            sceneTable.putInt(base + S_THREAT_LEVEL, scene.getThreatLevel());
+            sceneTable.putInt(base + S_FIGHT_NUMBER, scene.getFightNumber());
+            sceneTable.putInt(base + S_FLAGS, scene.isBitten() ? FLAG_BITTEN : 0);
+            sceneTable.putInt(base + S_FIRST_CHOICE, allChoices.size());
+            sceneTable.putInt(base + S_CHOICE_COUNT, scene.getChoices().size());
+            sceneTable.putInt(base + S_ITEM_NAME, item != null ? strings.intern(item.getName()) : NONE);
+            sceneTable.putInt(base + S_ITEM_TYPE, item != null ? item.getType().ordinal() : NONE);
+            sceneTable.putInt(base + S_ITEM_HEALTH_RESTORE, item != null ? item.getHealthRestore() : 0);
+            sceneTable.putInt(base + S_ITEM_DURABILITY, item != null ? item.getDurability() : 0);
+            sceneTable.putInt(base + S_ITEM_POWER, item != null ? item.getPower() : 0);
+            sceneTable.putInt(base + S_EFFECTS, strings.intern(effectJsonById.get(scene.getId())));
+            sceneTable.putInt(base + S_FIGHT_WIN, scene.getFightWinSceneIndex());
+            sceneTable.putInt(base + S_FIGHT_LOSE, scene.getFightLoseSceneIndex());
+            sceneTable.position(base + SCENE_RECORD_BYTES);
+            allChoices.addAll(scene.getChoices());
+        }
+
+        ByteBuffer choiceTable = ByteBuffer.allocate(allChoices.size() * CHOICE_RECORD_BYTES);
+        for (GameChoice choice : allChoices) {
+            int base = choiceTable.position();
+            choiceTable.putInt(base + C_LABEL, strings.intern(choice.getLabel()));
+            choiceTable.putInt(base + C_IMAGE_PATH, strings.intern(choice.getImagePath()));
+            choiceTable.putInt(base + C_NEXT_ID, strings.intern(choice.getNextId()));
+            choiceTable.putInt(base + C_NEXT_SCENE, choice.getNextSceneIndex());
+            choiceTable.putInt(base + C_HEALTH_EFFECT, choice.getHealthEffect());
+            choiceTable.position(base + CHOICE_RECORD_BYTES);
+        }
+
+        int hashSize = Integer.highestOneBit(Math.max(1, scenes.size() * 2 - 1)) << 1;
+        int[] idHash = new int[hashSize];
+        Arrays.fill(idHash, NONE);
+        for (int i = 0; i < scenes.size(); i++) {
+            int slot = BinaryStoryFormat.idHashSlot(scenes.get(i).getId().hashCode(), hashSize);
+            while (idHash[slot] != NONE) slot = (slot + 1) & (hashSize - 1);
+            idHash[slot] = i;
+        }
+
+        byte[] stringBytes = strings.toBytes();
+        int stringOffsetsPos = HEADER_BYTES;
+        int stringDataPos = stringOffsetsPos + strings.size() * Integer.BYTES;
+        int sceneTablePos = stringDataPos + stringBytes.length;
+        int choiceTablePos = sceneTablePos + sceneTable.capacity();
+        int idHashPos = choiceTablePos + choiceTable.capacity();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(idHashPos + hashSize * Integer.BYTES);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(strings.size());
+            out.writeInt(stringOffsetsPos);
+            out.writeInt(scenes.size());
+            out.writeInt(sceneTablePos);
+            out.writeInt(allChoices.size());
+            out.writeInt(choiceTablePos);
+            out.writeInt(hashSize);
+            out.writeInt(idHashPos);
+            out.writeInt(loader.getInfectionChoiceIndex());
+            out.writeInt(loader.getGameOverInfectionIndex());
+            out.writeLong(sourceLastModified);
+            for (int offset : strings.offsets) out.writeInt(stringDataPos + offset);
+            out.write(stringBytes);
+            out.write(sceneTable.array());
+            out.write(choiceTable.array());
+            for (int index : idHash) out.writeInt(index);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static final class StringTable {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<Integer> offsets = new ArrayList<>();
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+        int intern(String value) {
+            if (value == null) return NONE;
+            Integer existing = ids.get(value);
+            if (existing != null) return existing;
+            int id = offsets.size();
+            offsets.add(data.size());
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            data.write(utf8.length >>> 24);
+            data.write(utf8.length >>> 16);
+            data.write(utf8.length >>> 8);
+            data.write(utf8.length);
+            data.writeBytes(utf8);
+            ids.put(value, id);
+            return id;
+        }
+
+        int size() {
+            return offsets.size();
+        }
+
+        byte[] toBytes() {
+            return data.toByteArray();
+        }
+    }
+}
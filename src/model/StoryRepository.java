@@ -0,0 +1,150 @@
+package model;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of parsed stories. Each story file is parsed once and the
+ * resulting {@link SceneLoader} is shared by every caller. An entry is reloaded
+ * only when the file's modification time changes and its content hash differs.
+ * If {@link StoryCompiler} has produced a compiled file whose recorded source
+ * modification time matches the JSON's, that file is mapped instead of parsing the
+ * JSON; a JSON restored with an older timestamp no longer serves a stale compiled story.
+ */
+public final class StoryRepository {
+    // How long a cached entry is trusted before the file is stat'ed again.
+    private static final long REVALIDATE_INTERVAL_MS = 1000;
+    private static final long MISSING = Long.MIN_VALUE;
+
+    private static final Map<String, Entry> CACHE = new ConcurrentHashMap<>();
+
+    private StoryRepository() { }
+
+    private static final class Entry {
+        final SceneLoader loader;
+        final boolean compiled;
+        final long lastModified;
+        final byte[] contentHash;
+        volatile long checkedAtMillis;
+
+        Entry(SceneLoader loader, boolean compiled, long lastModified, byte[] contentHash, long checkedAtMillis) {
+            this.loader = loader;
+            this.compiled = compiled;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+            this.checkedAtMillis = checkedAtMillis;
+        }
+    }
+
+    public static SceneLoader get(String storyFilePath) {
+        Entry entry = CACHE.get(storyFilePath);
+        long now = System.currentTimeMillis();
+        if (entry != null && now - entry.checkedAtMillis < REVALIDATE_INTERVAL_MS) {
+            return entry.loader;
+        }
+        return CACHE.compute(storyFilePath, (path, existing) -> revalidate(path, existing, now)).loader;
+    }
+
+    /**
+     * A story for headless tools that read it from many threads at once. It is always
+     * parsed from the JSON, never the compiled file, whose loader materializes scenes
+     * under one lock. Not cached, so a tool sees the file as it is now.
+     */
+    public static SceneLoader loadForBatch(String storyFilePath) {
+        return new SceneLoader(storyFilePath);
+    }
+
+    public static void invalidate(String storyFilePath) {
+        CACHE.remove(storyFilePath);
+    }
+
+    public static void invalidateAll() {
+        CACHE.clear();
+    }
+
+    private static Entry revalidate(String storyFilePath, Entry existing, long now) {
+        Path path = Paths.get(storyFilePath);
+        long lastModified = lastModified(path);
+
+        Path compiledPath = BinaryStoryFormat.compiledPathFor(storyFilePath);
+        long compiledModified = lastModified(compiledPath);
+        if (compiledModified != MISSING && lastModified != MISSING) {
+            if (existing != null && existing.compiled && existing.lastModified == compiledModified
+                    && ((BinarySceneLoader) existing.loader).getSourceLastModified() == lastModified) {
+                existing.checkedAtMillis = now;
+                return existing;
+            }
+            try {
+                BinarySceneLoader compiled = new BinarySceneLoader(compiledPath);
+                if (compiled.getSourceLastModified() == lastModified) {
+                    return new Entry(compiled, true, compiledModified, null, now);
+                }
+                System.err.println("[DEBUG] Ignoring compiled story " + compiledPath + ": compiled from another version of " + storyFilePath);
+            } catch (IOException e) {
+                System.err.println("[DEBUG] Ignoring compiled story " + compiledPath + ": " + e.getMessage());
+            }
+        }
+
+        if (lastModified == MISSING) {
+            System.err.println("[DEBUG] Story file not readable: " + storyFilePath);
+            return emptyEntry(now);
+        }
+
+        if (existing != null && !existing.compiled && existing.lastModified == lastModified) {
+            existing.checkedAtMillis = now;
+            return existing;
+        }
+
+        byte[] content;
+        try {
+            content = Files.readAllBytes(path);
+        } catch (IOException e) {
+            System.err.println("[DEBUG] Failed to read story file: " + storyFilePath + " -> " + e.getMessage());
+            return existing != null ? existing : emptyEntry(now);
+        }
+
+        byte[] hash = sha256(content);
+        if (existing != null && !existing.compiled && Arrays.equals(existing.contentHash, hash)) {
+            return new Entry(existing.loader, false, lastModified, hash, now);
+        }
+
+        System.out.println("[DEBUG] StoryRepository parsing " + storyFilePath);
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8)) {
+            return new Entry(new SceneLoader(storyFilePath, reader, SceneLoader.ParseMode.STREAMING), false, lastModified, hash, now);
+        } catch (IOException e) {
+            // Closing an in-memory reader does not fail in practice.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Entry emptyEntry(long now) {
+        return new Entry(new SceneLoader(), false, MISSING, new byte[0], now);
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return MISSING;
+        }
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
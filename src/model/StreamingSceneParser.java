@@ -0,0 +1,239 @@
+package model;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Token-by-token story parser. Scenes are built straight from the {@link JsonReader}
+ * stream, so only the scene currently being read is held in memory. Registered effect
+ * keys (see {@link SceneEffects}) are compiled into the scene; they are also handed to
+ * the sink as a small JsonObject, which the caller may keep or drop.
+ */
+final class StreamingSceneParser {
+    private StreamingSceneParser() { }
+
+    /** Returns the number of scenes that were skipped because they were malformed. */
+    static int parse(Reader source, BiConsumer<GameScene, JsonObject> sink) throws IOException {
+        JsonReader reader = new JsonReader(source);
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            System.err.println("[ERROR] Story file must contain a JSON array of scenes, found " + reader.peek());
+            return 0;
+        }
+        int skipped = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                System.err.println("[ERROR] Skipping non-object scene entry at " + reader.getPath());
+                reader.skipValue();
+                skipped++;
+                continue;
+            }
+            SceneFields fields = readScene(reader);
+            if (fields.problem != null) {
+                System.err.println("[ERROR] Failed to parse scene " + (fields.id != null ? fields.id : "<no id>") + ": " + fields.problem);
+                skipped++;
+                continue;
+            }
+            sink.accept(fields.toScene(), fields.extensions);
+        }
+        reader.endArray();
+        return skipped;
+    }
+
+    private static final class SceneFields {
+        String id;
+        String prompt;
+        int healthChange;
+        boolean bitten;
+        String ending;
+        String imagePath;
+        int threatLevel = -1;
+        int fightNumber = 1;
+        List<GameChoice> choices = new ArrayList<>();
+        InventoryItem addItem;
+        JsonObject extensions;
+        String problem;
+
+        void fail(String message) {
+            if (problem == null) problem = message;
+        }
+
+        GameScene toScene() {
+            List<GameChoice> sceneChoices = Collections.unmodifiableList(choices);
+            GameScene scene = addItem != null
+                ? new GameScene(id, prompt, healthChange, sceneChoices, addItem)
+                : new GameScene(id, prompt, healthChange, sceneChoices);
+            scene.setImagePath(imagePath);
+            scene.setThreatLevel(threatLevel);
+            scene.setFightNumber(fightNumber);
+            scene.setBitten(bitten);
+            if (ending != null && !ending.isBlank()) scene.setEnding(ending);
+            scene.setEffects(SceneEffects.compile(id, extensions));
+            return scene;
+        }
+    }
+
+    private static SceneFields readScene(JsonReader reader) throws IOException {
+        SceneFields f = new SceneFields();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            switch (key) {
+                case "id" -> f.id = readString(reader, f, key);
+                case "prompt" -> f.prompt = readString(reader, f, key);
+                case "healthChange" -> f.healthChange = readInt(reader, f, key, 0);
+                case "bitten" -> f.bitten = readBoolean(reader, f, key);
+                case "ending" -> f.ending = readString(reader, f, key);
+                case "imagePath" -> f.imagePath = readString(reader, f, key);
+                case "threatLevel" -> f.threatLevel = readInt(reader, f, key, -1);
+                case "fightNumber" -> f.fightNumber = readInt(reader, f, key, 1);
+                case "choices" -> readChoices(reader, f);
+                case "addItem" -> f.addItem = readItem(reader, f);
+                default -> {
+                    if (SceneEffects.isEffectKey(key)) {
+                        if (f.extensions == null) f.extensions = new JsonObject();
+                        f.extensions.add(key, JsonParser.parseReader(reader));
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+            }
+        }
+        reader.endObject();
+
+        if (f.id == null) f.fail("missing id");
+        if (f.prompt == null) f.fail("missing prompt");
+        if (f.id != null) {
+            for (GameChoice choice : f.choices) {
+                choice.setCurrentSceneId(f.id);
+            }
+        }
+        return f;
+    }
+
+    private static void readChoices(JsonReader reader, SceneFields f) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            f.fail("choices is not an array");
+            return;
+        }
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                f.fail("choice is not an object");
+                continue;
+            }
+            String label = null;
+            String imagePath = null;
+            String nextId = null;
+            String id = null;
+            int healthEffect = 0;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String key = reader.nextName();
+                switch (key) {
+                    case "label" -> label = readString(reader, f, key);
+                    case "imagePath" -> imagePath = readString(reader, f, key);
+                    case "nextId" -> nextId = readString(reader, f, key);
+                    case "id" -> id = readString(reader, f, key);
+                    case "healthEffect" -> healthEffect = readInt(reader, f, key, 0);
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            if (label == null) f.fail("choice missing label");
+            if (imagePath == null) f.fail("choice missing imagePath");
+            f.choices.add(new GameChoice(label, imagePath, nextId != null ? nextId : id, healthEffect));
+        }
+        reader.endArray();
+    }
+
+    private static InventoryItem readItem(JsonReader reader, SceneFields f) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            f.fail("addItem is not an object");
+            return null;
+        }
+        String name = null;
+        String type = null;
+        int healthRestore = 0;
+        int durability = 0;
+        int power = 0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            switch (key) {
+                case "name" -> name = readString(reader, f, key);
+                case "type" -> type = readString(reader, f, key);
+                case "healthRestore" -> healthRestore = readInt(reader, f, key, 0);
+                case "durability" -> durability = readInt(reader, f, key, 0);
+                case "power" -> power = readInt(reader, f, key, 0);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (name == null || type == null) {
+            f.fail("addItem missing name or type");
+            return null;
+        }
+        try {
+            return new InventoryItem(name, ItemType.valueOf(type), healthRestore, durability, power);
+        } catch (IllegalArgumentException e) {
+            f.fail("unknown item type " + type);
+            return null;
+        }
+    }
+
+    private static String readString(JsonReader reader, SceneFields f, String key) throws IOException {
+        switch (reader.peek()) {
+            case STRING, NUMBER:
+                return reader.nextString();
+            case BOOLEAN:
+                return String.valueOf(reader.nextBoolean());
+            case NULL:
+                reader.nextNull();
+                return null;
+            default:
+                reader.skipValue();
+                f.fail(key + " is not a string");
+                return null;
+        }
+    }
+
+    private static int readInt(JsonReader reader, SceneFields f, String key, int fallback) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.NUMBER || token == JsonToken.STRING) {
+            try {
+                return reader.nextInt();
+            } catch (NumberFormatException e) {
+                reader.skipValue();
+            }
+        } else {
+            reader.skipValue();
+        }
+        f.fail(key + " is not an int");
+        return fallback;
+    }
+
+    private static boolean readBoolean(JsonReader reader, SceneFields f, String key) throws IOException {
+        switch (reader.peek()) {
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case STRING:
+                return Boolean.parseBoolean(reader.nextString());
+            default:
+                reader.skipValue();
+                f.fail(key + " is not a boolean");
+                return false;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package view;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import model.GameChoice;
+import model.GameScene;
+import model.SceneLoader;
+
+/**
+ * Build-time asset stage. Scans {@code imgs/} and the image paths of every story,
+ * writes downscaled copies of each image at the sizes the views decode them at, and
+ * records them in {@link ImageManifest#MANIFEST_FILE} together with the original's
+ * SHA-256, difference hash, byte size and dimensions. Duplicate and near-duplicate
+ * images are listed in {@link #DUPLICATES_REPORT}.
+ *
+ * <p>Run after adding or editing images:
+ * {@code java -cp "out;lib\gson-2.10.1.jar" --module-path ... view.AssetPipeline}
+ */
+public final class AssetPipeline {
+    // display sizes used by the views; 0 leaves that axis to the aspect ratio
+    private static final int[][] DISPLAY_SIZES = {
+        { ChoiceScreenView.CHOICE_IMG_WIDTH, 0 }, // choice tiles
+        { 0, 50 },                                // inventory preset icons
+        { 0, 150 },                               // story cards and the title image
+        { 0, 720 },                               // album photos (65% of a 1080p screen)
+    };
+    private static final double[] OUTPUT_SCALES = { 1.0, 2.0 };
+    private static final float JPEG_QUALITY = 0.85f;
+    // difference-hash bits that may differ for two images to count as near duplicates
+    private static final int NEAR_DUPLICATE_BITS = 6;
+    static final String DUPLICATES_REPORT = ImageManifest.VARIANTS_DIR + "/duplicates.txt";
+
+    private AssetPipeline() { }
+
+    public static void main(String[] args) throws IOException {
+        Path imgs = Paths.get("imgs");
+        Path variantsDir = Paths.get(ImageManifest.VARIANTS_DIR);
+        Files.createDirectories(variantsDir);
+
+        ImageManifest.Manifest manifest = new ImageManifest.Manifest();
+        long originalBytes = 0;
+        long variantBytes = 0;
+        for (String logical : collectImages(imgs)) {
+            Path source = Paths.get(logical);
+            if (!Files.isRegularFile(source)) {
+                System.err.println("[ERROR] Story references a missing image: " + logical);
+                continue;
+            }
+            ImageManifest.Entry entry = process(source, variantsDir);
+            if (entry == null) continue;
+            manifest.images.put(logical, entry);
+            originalBytes += entry.bytes;
+            for (ImageManifest.Variant v : entry.variants) {
+                variantBytes += Files.size(Paths.get(v.path));
+            }
+        }
+
+        Path target = Paths.get(ImageManifest.MANIFEST_FILE);
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            gson.toJson(manifest, writer);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        writeDuplicateReport(manifest, Paths.get(DUPLICATES_REPORT));
+        System.out.printf("AssetPipeline: %d images (%d KB) -> variants %d KB, manifest %s%n",
+            manifest.images.size(), originalBytes / 1024, variantBytes / 1024, target);
+    }
+
+    // Every image file directly under imgs/, plus every imagePath used by a story.
+    private static Set<String> collectImages(Path imgs) throws IOException {
+        Set<String> paths = new TreeSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(imgs)) {
+            for (Path file : files) {
+                if (Files.isRegularFile(file) && isImage(file.toString())) paths.add(logicalPath(file.toString()));
+            }
+        }
+        try (DirectoryStream<Path> stories = Files.newDirectoryStream(Paths.get("src", "data"), "*_story*.json")) {
+            for (Path story : stories) {
+                SceneLoader loader = new SceneLoader(story.toString());
+                for (GameScene scene : loader.getScenes().values()) {
+                    if (scene.getImagePath() != null) paths.add(logicalPath(scene.getImagePath()));
+                    for (GameChoice choice : scene.getChoices()) {
+                        if (choice.getImagePath() != null) paths.add(logicalPath(choice.getImagePath()));
+                    }
+                }
+            }
+        }
+        return paths;
+    }
+
+    private static ImageManifest.Entry process(Path source, Path variantsDir) throws IOException {
+        byte[] bytes = Files.readAllBytes(source);
+        BufferedImage original = ImageIO.read(source.toFile());
+        if (original == null) {
+            System.err.println("[ERROR] Unsupported image format: " + source);
+            return null;
+        }
+        ImageManifest.Entry entry = new ImageManifest.Entry();
+        entry.sha256 = sha256(bytes);
+        entry.bytes = bytes.length;
+        entry.modified = source.toFile().lastModified();
+        entry.width = original.getWidth();
+        entry.height = original.getHeight();
+        entry.dhash = String.format("%016x", differenceHash(original));
+
+        boolean png = source.toString().toLowerCase(Locale.ROOT).endsWith(".png");
+        Set<String> written = new TreeSet<>();
+        for (int[] size : DISPLAY_SIZES) {
+            for (double scale : OUTPUT_SCALES) {
+                int[] dims = fit(entry.width, entry.height, ImageCache.bucket(size[0] * scale), ImageCache.bucket(size[1] * scale));
+                // never upscale; the original already covers this size
+                if (dims[0] >= entry.width || dims[1] >= entry.height) continue;
+                String name = entry.sha256.substring(0, 16) + "_" + dims[0] + "x" + dims[1] + (png ? ".png" : ".jpg");
+                if (!written.add(name)) continue;
+                Path out = variantsDir.resolve(name);
+                if (!Files.exists(out)) {
+                    write(scale(original, dims[0], dims[1]), out, png);
+                }
+                entry.variants.add(new ImageManifest.Variant(logicalPath(out.toString()), dims[0], dims[1]));
+            }
+        }
+        return entry;
+    }
+
+    // Same rule as Image(url, w, h, preserveRatio=true): fit inside w x h, 0 = unbounded.
+    private static int[] fit(int width, int height, double maxWidth, double maxHeight) {
+        double scale = 1.0;
+        if (maxWidth > 0) scale = Math.min(scale, maxWidth / width);
+        if (maxHeight > 0) scale = Math.min(scale, maxHeight / height);
+        if (maxWidth > 0 && scale == maxWidth / width) {
+            return new int[] { (int) maxWidth, Math.max(1, (int) Math.round(height * scale)) };
+        }
+        if (maxHeight > 0 && scale == maxHeight / height) {
+            return new int[] { Math.max(1, (int) Math.round(width * scale)), (int) maxHeight };
+        }
+        return new int[] { width, height };
+    }
+
+    // Halves the image until it is close to the target, then does one bilinear step; a
+    // single bilinear step from a 12 MP source aliases badly.
+    private static BufferedImage scale(BufferedImage src, int width, int height) {
+        BufferedImage current = src;
+        int w = src.getWidth();
+        int h = src.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            int type = src.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, w, h, null);
+            g.dispose();
+            current = next;
+        } while (w != width || h != height);
+        return current;
+    }
+
+    private static void write(BufferedImage image, Path out, boolean png) throws IOException {
+        Path tmp = out.resolveSibling(out.getFileName() + ".tmp");
+        if (png) {
+            ImageIO.write(image, "png", tmp.toFile());
+        } else {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            try (ImageOutputStream stream = ImageIO.createImageOutputStream(tmp.toFile())) {
+                writer.setOutput(stream);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+        }
+        Files.move(tmp, out, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Lists images with identical bytes (ImageCache already shares those) and images
+     * whose difference hashes are within NEAR_DUPLICATE_BITS, which are worth merging
+     * by hand.
+     */
+    private static void writeDuplicateReport(ImageManifest.Manifest manifest, Path report) throws IOException {
+        List<String> paths = new ArrayList<>(manifest.images.keySet());
+        Map<String, List<String>> bySha = new TreeMap<>();
+        for (String path : paths) {
+            bySha.computeIfAbsent(manifest.images.get(path).sha256, k -> new ArrayList<>()).add(path);
+        }
+        List<String> lines = new ArrayList<>();
+        int identical = 0;
+        int near = 0;
+        lines.add("# Identical content");
+        for (List<String> group : bySha.values()) {
+            if (group.size() < 2) continue;
+            identical++;
+            lines.add(String.join("  ==  ", group));
+        }
+        lines.add("");
+        lines.add("# Near duplicates (difference hash within " + NEAR_DUPLICATE_BITS + " bits)");
+        for (int i = 0; i < paths.size(); i++) {
+            ImageManifest.Entry a = manifest.images.get(paths.get(i));
+            for (int j = i + 1; j < paths.size(); j++) {
+                ImageManifest.Entry b = manifest.images.get(paths.get(j));
+                if (a.sha256.equals(b.sha256)) continue;
+                int bits = Long.bitCount(Long.parseUnsignedLong(a.dhash, 16) ^ Long.parseUnsignedLong(b.dhash, 16));
+                if (bits <= NEAR_DUPLICATE_BITS) {
+                    near++;
+                    lines.add(paths.get(i) + "  ~  " + paths.get(j) + "  (" + bits + " bits)");
+                }
+            }
+        }
+        Files.write(report, lines, StandardCharsets.UTF_8);
+        System.out.println("AssetPipeline: " + identical + " identical groups, " + near + " near-duplicate pairs, see " + report);
+    }
+
+    // 64-bit dHash: shrink to 9x8 grayscale and record whether each pixel is brighter
+    // than its right neighbour. Robust to re-encoding and resizing.
+    private static long differenceHash(BufferedImage image) {
+        BufferedImage small = new BufferedImage(9, 8, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = small.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(scale(image, Math.min(image.getWidth(), 72), Math.min(image.getHeight(), 64)), 0, 0, 9, 8, null);
+        g.dispose();
+        long hash = 0;
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                int left = small.getRaster().getSample(x, y, 0);
+                int right = small.getRaster().getSample(x + 1, y, 0);
+                hash = (hash << 1) | (left > right ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    private static boolean isImage(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".jpg") || lower.endsWith(".jpeg") || lower.endsWith(".png");
+    }
+
+    // Manifest keys are relative, forward-slash paths ("imgs/x.jpg"), as in the story files.
+    static String logicalPath(String path) {
+        String p = path.startsWith("file:") ? path.substring("file:".length()) : path;
+        p = p.replace('\\', '/');
+        return p.startsWith("./") ? p.substring(2) : p;
+    }
+
+    static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
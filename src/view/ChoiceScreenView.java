@@ -20,7 +20,7 @@ import javafx.scene.layout.Region;
 import java.util.ArrayList;
 
 public class ChoiceScreenView extends BorderPane {
-    private static final int CHOICE_IMG_WIDTH = 160;
+    static final int CHOICE_IMG_WIDTH = 160;
     private final TopBarView topBar = new TopBarView();
     private Label healthLabel;
     private ProgressBar healthBar;
@@ -103,7 +103,7 @@ public class ChoiceScreenView extends BorderPane {
                     ", nextId: " + choice.getNextId() +
                     ", imagePath: " + choice.getImagePath());
             }
-            Image img = new Image("file:" + choice.getImagePath());
+            Image img = ImageCache.get(choice.getImagePath(), CHOICE_IMG_WIDTH, 0);
             if (img.isError()) {
                 System.out.println("[DEBUG] Failed to load image: " + choice.getImagePath());
             }
@@ -0,0 +1,182 @@
+package view;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.stage.Screen;
+
+/**
+ * Process-wide cache of decoded images, keyed by file content and decode size. Views get
+ * their images here instead of calling {@code new Image(...)}, so rebuilding a screen
+ * (every choice, consume or theme toggle) reuses the decoded pixels. Entries are
+ * evicted least-recently-used once the decoded size passes the byte budget, which
+ * can be set with {@code -Dzombie.imageCache.mb=<megabytes>}.
+ *
+ * <p>Images requested with a display size are decoded straight at that size times the
+ * screen's output scale, rounded up to a size bucket, so a 160 px choice tile never
+ * holds a full-resolution texture and nearby sizes share one decoded variant. When
+ * {@link AssetPipeline} has produced a smaller file covering that size, the file is
+ * decoded instead of the original (see {@link ImageManifest}).
+ *
+ * <p>When the {@link ImageManifest} is current for a file, its entries are keyed by the
+ * SHA-256 the pipeline recorded rather than its path, so two paths with identical bytes
+ * (copies under different names) share one decoded image. Files the manifest doesn't
+ * cover are keyed by URL; nothing is hashed here, since loads run on the FX thread.
+ */
+public final class ImageCache {
+    private static final long DEFAULT_BUDGET_MB = 64;
+    private static final int BYTES_PER_PIXEL = 4;
+    // decode sizes, in device pixels; a request is rounded up to the next one
+    private static final int[] SIZE_BUCKETS = { 64, 96, 128, 192, 256, 384, 512, 768, 1024, 1536, 2048, 3072, 4096 };
+
+    // access-ordered, so iteration starts at the least recently used entry
+    private static final LinkedHashMap<Key, Cached> ENTRIES = new LinkedHashMap<>(64, 0.75f, true);
+    private static long budgetBytes = Long.getLong("zombie.imageCache.mb", DEFAULT_BUDGET_MB) * 1024 * 1024;
+    private static long usedBytes;
+    private static long hits;
+    private static long misses;
+    private static long evictions;
+    private static long sharedHits;
+    // file URL -> content id (the pipeline's SHA-256, or the URL itself), so identical files share one entry
+    private static final Map<String, String> CONTENT_IDS = new HashMap<>();
+    // last output scale seen on the FX thread; background loads reuse it
+    private static volatile double lastOutputScale = 1.0;
+
+    private ImageCache() { }
+
+    private record Key(String contentId, double width, double height) { }
+
+    private record Cached(Image image, String url) { }
+
+    /** Returns the image at its natural size. */
+    public static Image get(String path) {
+        return load(path, toUrl(path), 0, 0);
+    }
+
+    /**
+     * Returns the image decoded for display inside width x height layout pixels
+     * (0 means unbounded), keeping its aspect ratio. Failed loads come back with
+     * {@code isError()} set and are not cached.
+     */
+    public static Image get(String path, double width, double height) {
+        double scale = outputScale();
+        return load(path, toUrl(path), bucket(width * scale), bucket(height * scale));
+    }
+
+    private static Image load(String path, String url, double width, double height) {
+        Key key = new Key(contentId(url), width, height);
+        synchronized (ImageCache.class) {
+            Cached cached = ENTRIES.get(key);
+            if (cached != null) {
+                hits++;
+                if (!cached.url().equals(url)) sharedHits++;
+                return cached.image();
+            }
+            misses++;
+        }
+
+        // decode outside the lock; two threads racing on the same key just decode twice
+        String source = ImageManifest.resolve(url, width, height);
+        Image image = new Image(source, width, height, true, true);
+        if (image.isError()) {
+            System.err.println("[ERROR] Failed to load image: " + path);
+            return image;
+        }
+        put(key, new Cached(image, url));
+        return image;
+    }
+
+    private static synchronized void put(Key key, Cached entry) {
+        long size = sizeOf(entry.image());
+        if (size > budgetBytes) return;
+        Cached previous = ENTRIES.put(key, entry);
+        if (previous != null) usedBytes -= sizeOf(previous.image());
+        usedBytes += size;
+        evictToBudget();
+    }
+
+    private static void evictToBudget() {
+        Iterator<Map.Entry<Key, Cached>> it = ENTRIES.entrySet().iterator();
+        while (usedBytes > budgetBytes && it.hasNext()) {
+            usedBytes -= sizeOf(it.next().getValue().image());
+            it.remove();
+            evictions++;
+        }
+    }
+
+    // The pipeline's recorded hash when the manifest is current, otherwise the URL.
+    private static synchronized String contentId(String url) {
+        String known = CONTENT_IDS.get(url);
+        if (known != null) return known;
+        String hash = ImageManifest.contentHash(url);
+        String id = hash != null ? hash : url;
+        CONTENT_IDS.put(url, id);
+        return id;
+    }
+
+    /** True if the image is already decoded for this display size; does not count as a hit. */
+    public static synchronized boolean contains(String path, double width, double height) {
+        // a path that was never loaded has no id yet, and nothing cached
+        String id = CONTENT_IDS.get(toUrl(path));
+        if (id == null) return false;
+        double scale = outputScale();
+        return ENTRIES.containsKey(new Key(id, bucket(width * scale), bucket(height * scale)));
+    }
+
+    public static synchronized void setBudgetBytes(long bytes) {
+        budgetBytes = Math.max(0, bytes);
+        evictToBudget();
+    }
+
+    public static synchronized void clear() {
+        ENTRIES.clear();
+        CONTENT_IDS.clear();
+        usedBytes = 0;
+    }
+
+    public static synchronized long getHits() { return hits; }
+    public static synchronized long getMisses() { return misses; }
+    public static synchronized long getEvictions() { return evictions; }
+    public static synchronized long getSharedHits() { return sharedHits; }
+    public static synchronized long getUsedBytes() { return usedBytes; }
+    public static synchronized long getBudgetBytes() { return budgetBytes; }
+
+    public static synchronized String stats() {
+        return String.format("ImageCache: %d images, %d/%d KB, hits=%d (shared=%d), misses=%d, evictions=%d",
+            ENTRIES.size(), usedBytes / 1024, budgetBytes / 1024, hits, sharedHits, misses, evictions);
+    }
+
+    static double bucket(double devicePixels) {
+        if (devicePixels <= 0) return 0;
+        for (int size : SIZE_BUCKETS) {
+            if (devicePixels <= size) return size;
+        }
+        return Math.ceil(devicePixels);
+    }
+
+    private static double outputScale() {
+        if (!Platform.isFxApplicationThread()) return lastOutputScale;
+        Screen screen = Screen.getPrimary();
+        lastOutputScale = Math.max(1.0, Math.max(screen.getOutputScaleX(), screen.getOutputScaleY()));
+        return lastOutputScale;
+    }
+
+    private static long sizeOf(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * BYTES_PER_PIXEL;
+    }
+
+    // Callers pass plain paths ("imgs/x.jpg"), "file:" paths or full URIs.
+    private static String toUrl(String path) {
+        if (path == null) path = "";
+        if (path.startsWith("file:")) {
+            String rest = path.substring("file:".length());
+            if (rest.startsWith("/")) return path;
+            path = rest;
+        }
+        return new File(path).toURI().toString();
+    }
+}
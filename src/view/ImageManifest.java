@@ -0,0 +1,124 @@
+package view;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read side of the asset manifest written by {@link AssetPipeline}. It maps each
+ * original image under {@code imgs/} to pre-scaled variants, so {@link ImageCache} can
+ * decode a small file instead of the multi-megabyte original. Without a manifest (or
+ * for an original edited after the pipeline ran) the original is used.
+ */
+public final class ImageManifest {
+    public static final String VARIANTS_DIR = "imgs/variants";
+    public static final String MANIFEST_FILE = VARIANTS_DIR + "/manifest.json";
+    static final int VERSION = 1;
+
+    static final class Manifest {
+        int version = VERSION;
+        Map<String, Entry> images = new LinkedHashMap<>();
+    }
+
+    static final class Entry {
+        String sha256;
+        String dhash;
+        long bytes;
+        long modified;
+        int width;
+        int height;
+        List<Variant> variants = new ArrayList<>();
+    }
+
+    static final class Variant {
+        String path;
+        int width;
+        int height;
+
+        Variant(String path, int width, int height) {
+            this.path = path;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    private static volatile Map<String, Entry> byUrl;
+
+    private ImageManifest() { }
+
+    /**
+     * Returns the URL of the smallest variant of {@code url} that covers width x height
+     * (0 means unbounded), or {@code url} itself when there is none.
+     */
+    static String resolve(String url, double width, double height) {
+        if (width <= 0 && height <= 0) return url;
+        Entry entry = freshEntry(url);
+        if (entry == null) return url;
+
+        Variant best = null;
+        for (Variant v : entry.variants) {
+            if (width > 0 && v.width < width) continue;
+            if (height > 0 && v.height < height) continue;
+            if (best == null || (long) v.width * v.height < (long) best.width * best.height) best = v;
+        }
+        return best != null ? new File(best.path).toURI().toString() : url;
+    }
+
+    /** SHA-256 of the original as recorded by the pipeline, or null if unknown or stale. */
+    static String contentHash(String url) {
+        Entry entry = freshEntry(url);
+        return entry != null ? entry.sha256 : null;
+    }
+
+    private static Entry freshEntry(String url) {
+        Entry entry = entries().get(url);
+        if (entry == null) return null;
+        File original = new File(java.net.URI.create(url));
+        if (original.lastModified() != entry.modified || original.length() != entry.bytes) return null;
+        return entry;
+    }
+
+    /** Forgets the loaded manifest so the next lookup reads it again. */
+    public static void reload() {
+        byUrl = null;
+    }
+
+    private static Map<String, Entry> entries() {
+        Map<String, Entry> map = byUrl;
+        if (map == null) {
+            map = new HashMap<>();
+            Manifest manifest = read(new File(MANIFEST_FILE));
+            if (manifest != null) {
+                for (Map.Entry<String, Entry> e : manifest.images.entrySet()) {
+                    map.put(new File(e.getKey()).toURI().toString(), e.getValue());
+                }
+                System.out.println("[DEBUG] ImageManifest: " + map.size() + " images with variants");
+            }
+            byUrl = map;
+        }
+        return map;
+    }
+
+    static Manifest read(File file) {
+        if (!file.exists()) return null;
+        try (Reader reader = new FileReader(file)) {
+            Manifest manifest = new Gson().fromJson(reader, Manifest.class);
+            if (manifest == null || manifest.version != VERSION || manifest.images == null) {
+                System.err.println("[ERROR] Ignoring image manifest with unsupported version: " + file);
+                return null;
+            }
+            return manifest;
+        } catch (IOException | JsonParseException e) {
+            System.err.println("[ERROR] Failed to read image manifest " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package view;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import model.GameChoice;
+import model.GameScene;
+import model.SceneLoader;
+
+/**
+ * Warms {@link ImageCache} with the choice images of the scenes the player can reach
+ * next, so the following choice screen doesn't decode JPEGs on the FX thread. The
+ * scene graph is walked breadth-first from the scene being shown (choice targets plus
+ * fight win/lose scenes), {@code -Dzombie.prefetch.depth} hops deep (default 2). The
+ * decoding runs on one low-priority daemon thread, and work queued for an earlier
+ * scene is cancelled as soon as the player moves on.
+ */
+public final class ImagePrefetcher {
+    private static final int DEPTH = Integer.getInteger("zombie.prefetch.depth", 2);
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "image-prefetch");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+    private static final List<Future<?>> PENDING = new ArrayList<>();
+    private static volatile long generation;
+
+    private ImagePrefetcher() { }
+
+    /** Called on the FX thread each time a scene is shown. */
+    public static synchronized void prefetchAround(GameScene scene, SceneLoader loader) {
+        cancel();
+        if (scene == null || loader == null || DEPTH <= 0) return;
+        long current = generation;
+        for (String imagePath : imagesAhead(scene, loader)) {
+            // skipping cached paths here keeps them from being touched as most recent
+            if (ImageCache.contains(imagePath, ChoiceScreenView.CHOICE_IMG_WIDTH, 0)) continue;
+            PENDING.add(EXECUTOR.submit(() -> {
+                if (generation != current) return;
+                ImageCache.get(imagePath, ChoiceScreenView.CHOICE_IMG_WIDTH, 0);
+            }));
+        }
+    }
+
+    /** Drops queued work; a decode already in progress is allowed to finish. */
+    public static synchronized void cancel() {
+        generation++;
+        for (Future<?> f : PENDING) {
+            f.cancel(false);
+        }
+        PENDING.clear();
+    }
+
+    // Choice images of the scenes 1..DEPTH hops away, nearest first.
+    private static Set<String> imagesAhead(GameScene start, SceneLoader loader) {
+        Set<String> images = new LinkedHashSet<>();
+        Set<Integer> seen = new HashSet<>();
+        ArrayDeque<GameScene> frontier = new ArrayDeque<>();
+        frontier.add(start);
+        seen.add(start.getIndex());
+        for (int hop = 0; hop < DEPTH && !frontier.isEmpty(); hop++) {
+            ArrayDeque<GameScene> next = new ArrayDeque<>();
+            for (GameScene scene : frontier) {
+                for (int index : successors(scene)) {
+                    if (!seen.add(index)) continue;
+                    GameScene target = loader.getSceneByIndex(index);
+                    if (target == null) continue;
+                    for (GameChoice choice : target.getChoices()) {
+                        if (choice.getImagePath() != null) images.add(choice.getImagePath());
+                    }
+                    next.add(target);
+                }
+            }
+            frontier = next;
+        }
+        return images;
+    }
+
+    private static List<Integer> successors(GameScene scene) {
+        List<Integer> out = new ArrayList<>(scene.getChoices().size() + 2);
+        for (GameChoice choice : scene.getChoices()) {
+            if (choice.getNextSceneIndex() >= 0) out.add(choice.getNextSceneIndex());
+        }
+        if (scene.getFightWinSceneIndex() >= 0) out.add(scene.getFightWinSceneIndex());
+        if (scene.getFightLoseSceneIndex() >= 0) out.add(scene.getFightLoseSceneIndex());
+        return out;
+    }
+}
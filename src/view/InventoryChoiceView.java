@@ -83,7 +83,7 @@ public class InventoryChoiceView extends BorderPane {
     private ImageView createImageView(String imagePath) {
         ImageView imageView = null;
         try {
-            Image image = new Image(imagePath);
+            Image image = ImageCache.get(imagePath, 0, 50);
             imageView = new ImageView(image);
             imageView.setFitHeight(50);
             imageView.setPreserveRatio(true);
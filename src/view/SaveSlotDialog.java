@@ -0,0 +1,103 @@
+package view;
+
+import javafx.scene.control.Alert;
+import javafx.scene.control.ChoiceDialog;
+import javafx.scene.control.TextInputDialog;
+import model.SaveManager;
+import model.SlotSummary;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Slot picker shared by the new game, load and album flows. Shows one page of saves
+ * at a time, most recently played first, straight from the slot index, with entries
+ * to page through the rest, find a player by name, and (for a new game) start a fresh
+ * slot.
+ */
+public final class SaveSlotDialog {
+    static final int PAGE_SIZE = 10;
+
+    private static final String NEW_SLOT = "New save slot";
+    private static final String FIND = "Find player by name...";
+    private static final String NEXT = "Next page >";
+    private static final String PREVIOUS = "< Previous page";
+    private static final DateTimeFormatter LAST_PLAYED =
+        DateTimeFormatter.ofPattern("MMM d, HH:mm").withZone(ZoneId.systemDefault());
+
+    private SaveSlotDialog() { }
+
+    /** The chosen slot number, or empty if the player cancelled. */
+    public static Optional<Integer> choose(String title, String header, boolean offerNewSlot) {
+        int page = 0;
+        while (true) {
+            List<SlotSummary> slots = SaveManager.listSlots(page, PAGE_SIZE);
+            boolean hasNext = (page + 1) * PAGE_SIZE < SaveManager.slotCount();
+
+            List<String> options = new ArrayList<>();
+            Map<String, Integer> slotByLabel = new HashMap<>();
+            if (offerNewSlot) options.add(NEW_SLOT);
+            for (SlotSummary s : slots) {
+                String label = label(s);
+                options.add(label);
+                slotByLabel.put(label, s.slot);
+            }
+            if (page > 0) options.add(PREVIOUS);
+            if (hasNext) options.add(NEXT);
+            options.add(FIND);
+
+            ChoiceDialog<String> dialog = new ChoiceDialog<>(options.get(0), options);
+            dialog.setTitle(title);
+            dialog.setHeaderText(header);
+            dialog.setContentText("Slot:");
+            Optional<String> chosen = dialog.showAndWait();
+            if (chosen.isEmpty()) return Optional.empty();
+
+            String c = chosen.get();
+            if (c.equals(NEW_SLOT)) return Optional.of(SaveManager.nextFreeSlot());
+            if (c.equals(NEXT)) {
+                page++;
+            } else if (c.equals(PREVIOUS)) {
+                page--;
+            } else if (c.equals(FIND)) {
+                Optional<Integer> found = findByName();
+                if (found.isPresent()) return found;
+            } else {
+                return Optional.of(slotByLabel.get(c));
+            }
+        }
+    }
+
+    private static Optional<Integer> findByName() {
+        TextInputDialog nameDialog = new TextInputDialog();
+        nameDialog.setTitle("Find Player");
+        nameDialog.setHeaderText("Enter the player's name");
+        nameDialog.setContentText("Name:");
+        Optional<String> name = nameDialog.showAndWait();
+        if (name.isEmpty() || name.get().trim().isEmpty()) return Optional.empty();
+
+        Optional<SlotSummary> found = SaveManager.findByPlayerName(name.get());
+        if (found.isEmpty()) {
+            Alert a = new Alert(Alert.AlertType.INFORMATION);
+            a.setTitle("No Save Found");
+            a.setHeaderText("No save for \"" + name.get().trim() + "\".");
+            a.showAndWait();
+            return Optional.empty();
+        }
+        return Optional.of(found.get().slot);
+    }
+
+    private static String label(SlotSummary s) {
+        String name = s.playerName == null || s.playerName.isBlank() ? "Unnamed" : s.playerName;
+        String played = s.lastUpdatedEpochMillis > 0
+            ? " (" + LAST_PLAYED.format(Instant.ofEpochMilli(s.lastUpdatedEpochMillis)) + ")"
+            : "";
+        return "Slot " + s.slot + " - " + name + played;
+    }
+}
@@ -12,9 +12,9 @@ import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import static view.Theme.*;
 
-import model.SaveData;
 import model.SaveManager;
-import model.SceneLoader;
+import model.SlotSummary;
+import model.StoryRepository;
 
 public class StoryTurnstileView extends BorderPane {
     private static final String BADGE_ID = "completed-badge";
@@ -108,7 +108,7 @@ public class StoryTurnstileView extends BorderPane {
     private VBox createStoryBox(String imagePath, String title, String subtitle, String buttonText, int index) {
         ImageView imageView = new ImageView();
         try {
-            Image image = new Image(imagePath);
+            Image image = ImageCache.get(imagePath, 0, 150);
             imageView.setImage(image);
             imageView.setFitHeight(150);
             imageView.setPreserveRatio(true);
@@ -162,17 +162,16 @@ public class StoryTurnstileView extends BorderPane {
     private boolean isStoryCompleted(String storyJsonPath) {
         if (activeSaveSlot <= 0) return false;
 
-        var opt = SaveManager.load(activeSaveSlot);
+        var opt = SaveManager.summary(activeSaveSlot);
         if (opt.isEmpty()) return false;
 
-        SaveData data = opt.get();
-        if (data.completedWinSceneIds == null || data.completedWinSceneIds.isEmpty()) return false;
+        SlotSummary summary = opt.get();
+        if (summary.completedWinSceneIds == null || summary.completedWinSceneIds.isEmpty()) return false;
 
         try {
-            SceneLoader loader = new SceneLoader(storyJsonPath);
-            var sceneIds = loader.getScenes().keySet();
-            for (String winId : data.completedWinSceneIds) {
-                if (sceneIds.contains(winId)) return true;
+            var story = StoryRepository.get(storyJsonPath);
+            for (String winId : summary.completedWinSceneIds) {
+                if (story.hasScene(winId)) return true;
             }
         } catch (Exception ex) {
             System.err.println("[DEBUG] Failed to load story for completion check: " + storyJsonPath + " -> " + ex.getMessage());
@@ -39,7 +39,7 @@ public class TitleView extends BorderPane {
         File imgFile = new File("imgs/titleImg.jpg");
         ImageView imageView = null;
         if (imgFile.exists()) {
-            Image titleImg = new Image(imgFile.toURI().toString());
+            Image titleImg = ImageCache.get(imgFile.getPath(), 0, 150);
             imageView = new ImageView(titleImg);
             imageView.setFitHeight(150);
             imageView.setPreserveRatio(true);
@@ -64,22 +64,12 @@ public class TitleView extends BorderPane {
 
         winningAlbumButton = new Button("Winning Photo Album");
         winningAlbumButton.setOnAction(e -> {
-            java.util.List<String> options = new java.util.ArrayList<>();
-            for (int i = 1; i <= 3; i++) {
-                String label = "Slot " + i + " - " + model.SaveManager.peekPlayerName(i).orElse("Empty");
-                options.add(label);
-            }
-            javafx.scene.control.ChoiceDialog<String> dialog = new javafx.scene.control.ChoiceDialog<>(options.get(0), options);
-            dialog.setTitle("Select Save Slot");
-            dialog.setHeaderText("Choose a save slot to view its Winning Photo Album:");
-            dialog.setContentText("Save Slot:");
-
-            dialog.showAndWait().ifPresent(selected -> {
-                int slot = options.indexOf(selected) + 1;
-                if (winningAlbumHandler != null) {
-                    winningAlbumHandler.accept(slot);
-                }
-            });
+            SaveSlotDialog.choose("Select Save Slot", "Choose a save slot to view its Winning Photo Album:", false)
+                .ifPresent(slot -> {
+                    if (winningAlbumHandler != null) {
+                        winningAlbumHandler.accept(slot);
+                    }
+                });
         });
 
         winningAlbumButton.setFocusTraversable(false);
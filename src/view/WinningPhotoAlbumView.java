@@ -15,7 +15,10 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.layout.Region;
 import javafx.scene.Node;
+import javafx.stage.Screen;
+import model.GameScene;
 import model.SaveData;
+import model.StoryRepository;
 
 import javafx.scene.layout.Background;
 import javafx.scene.layout.BackgroundFill;
@@ -134,6 +137,8 @@ public class WinningPhotoAlbumView extends BorderPane {
             return;
         }
         
+        // photos are shown at 65% of the view's height, which is at most the screen's
+        double photoHeight = Screen.getPrimary().getVisualBounds().getHeight() * 0.65;
         for (String sceneId : winningSceneIds) {
             String imagePath = getImagePathForSceneId(sceneId);
             System.out.println("SceneId: " + sceneId + ", imagePath: " + imagePath);
@@ -141,12 +146,12 @@ public class WinningPhotoAlbumView extends BorderPane {
             try {
                 File file = new File(imagePath);
                 if (file.exists()) {
-                    image = new Image(file.toURI().toString());
+                    image = ImageCache.get(file.getPath(), 0, photoHeight);
                 } else {
-                    image = new Image("file:imgs/defaultImg.jpg");
+                    image = ImageCache.get("imgs/defaultImg.jpg", 0, photoHeight);
                 }
             } catch (Exception ex) {
-                image = new Image("file:imgs/defaultImg.jpg");
+                image = ImageCache.get("imgs/defaultImg.jpg", 0, photoHeight);
             }
             ImageView iv = new ImageView(image);
             iv.setPreserveRatio(true);
@@ -366,19 +371,10 @@ public class WinningPhotoAlbumView extends BorderPane {
 
     private static List<String> getWinningSceneIdsFromStory(String storyFilePath) {
         List<String> winIds = new ArrayList<>();
-        try (FileReader reader = new FileReader(storyFilePath)) {
-            JsonArray scenes = JsonParser.parseReader(reader).getAsJsonArray();
-            for (JsonElement elem : scenes) {
-                if (!elem.isJsonObject()) continue;
-                JsonObject obj = elem.getAsJsonObject();
-                if ("WIN".equalsIgnoreCase(obj.has("ending") ? obj.get("ending").getAsString() : null)) {
-                    if (obj.has("id")) {
-                        winIds.add(obj.get("id").getAsString());
-                    }
-                }
+        for (GameScene scene : StoryRepository.get(storyFilePath).getScenes().values()) {
+            if (scene.isWinEnding()) {
+                winIds.add(scene.getId());
             }
-        } catch (Exception ex) {
-            ex.printStackTrace();
         }
         return winIds;
     }
@@ -389,16 +385,12 @@ public class WinningPhotoAlbumView extends BorderPane {
             "src/data/walk_story2.json"
         };
         for (String storyFile : storyFiles) {
-            try {
-                model.SceneLoader loader = new model.SceneLoader(storyFile);
-                Map<String, model.GameScene> scenes = loader.getScenes();
-                if (scenes.containsKey(sceneId)) {
-                    String imagePath = scenes.get(sceneId).getImagePath();
-                    if (imagePath != null && !imagePath.isEmpty()) {
-                        return imagePath;
-                    }
+            GameScene scene = StoryRepository.get(storyFile).getSceneById(sceneId);
+            if (scene != null) {
+                String imagePath = scene.getImagePath();
+                if (imagePath != null && !imagePath.isEmpty()) {
+                    return imagePath;
                 }
-            } catch (Exception ex) {
             }
         }
         return "imgs/defaultImg.jpg";